@@ -403,7 +403,7 @@ PY
 }
 
 echo "➡️ Ejecutando pruebas unitarias para $SERVICE_NAME"
-./mvnw -B -pl "$SERVICE_NAME" test -Dtest='*ServiceImplTest' -DfailIfNoTests=false
+./mvnw -B -pl "$SERVICE_NAME" -am test -Dtest='*ServiceImplTest' -DfailIfNoTests=false
 summarize_reports "$SERVICE_NAME"
 EOF
 ''')
@@ -475,7 +475,7 @@ PY
 }
 
 echo "➡️ Ejecutando pruebas de integración para $SERVICE_NAME"
-./mvnw -B -pl "$SERVICE_NAME" test -Dtest='*IntegrationTest' -DfailIfNoTests=false
+./mvnw -B -pl "$SERVICE_NAME" -am test -Dtest='*IntegrationTest' -DfailIfNoTests=false
 summarize_reports "$SERVICE_NAME"
 EOF
 ''')
@@ -0,0 +1,142 @@
+package com.selimhorri.app.config.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.constant.AppConstant.EdgeIdentityHeaders;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "app.edge-auth.enabled", havingValue = "true")
+@Slf4j
+public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
+	
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final String ROLE_CLAIM = "role";
+	private static final String TOKEN_TYPE_CLAIM = "typ";
+	private static final String REFRESH_TOKEN_TYPE = "refresh";
+	private static final String[] ACCOUNT_FLAG_CLAIMS = {
+		"enabled", "accountNonExpired", "accountNonLocked", "credentialsNonExpired"
+	};
+	
+	private final String jwtSecret;
+	private final SecretKeySpec edgeSecretKey;
+	
+	public JwtAuthenticationGlobalFilter(
+			@Value("${app.jwt.secret:secret}") final String jwtSecret, 
+			@Value("${app.edge-auth.secret}") final String edgeSecret) {
+		if (edgeSecret.isBlank())
+			throw new IllegalStateException("app.edge-auth.secret must be set when app.edge-auth.enabled is true");
+		this.jwtSecret = jwtSecret;
+		this.edgeSecretKey = new SecretKeySpec(edgeSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		final ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate()
+				.headers(headers -> {
+					headers.remove(EdgeIdentityHeaders.SUBJECT);
+					headers.remove(EdgeIdentityHeaders.ROLE);
+					headers.remove(EdgeIdentityHeaders.TOKEN_ID);
+					headers.remove(EdgeIdentityHeaders.TIMESTAMP);
+					headers.remove(EdgeIdentityHeaders.SIGNATURE);
+				});
+		
+		final String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX))
+			return chain.filter(exchange.mutate().request(requestBuilder.build()).build());
+		
+		final Claims claims;
+		try {
+			claims = Jwts.parser()
+					.setSigningKey(this.jwtSecret)
+					.parseClaimsJws(authorizationHeader.substring(BEARER_PREFIX.length()))
+					.getBody();
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.info("**JwtAuthenticationGlobalFilter, rejecting invalid token at the edge*\n");
+			exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+			return exchange.getResponse().setComplete();
+		}
+		
+		final String subject = claims.getSubject();
+		if (subject == null || REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+			exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+			return exchange.getResponse().setComplete();
+		}
+		
+		final String role = (this.isAccountActive(claims)) ? claims.get(ROLE_CLAIM, String.class) : null;
+		final String tokenId = claims.getId();
+		final String timestamp = String.valueOf(System.currentTimeMillis());
+		requestBuilder.header(EdgeIdentityHeaders.SUBJECT, subject)
+				.header(EdgeIdentityHeaders.TIMESTAMP, timestamp)
+				.header(EdgeIdentityHeaders.SIGNATURE, this.sign(subject, (role == null) ? "" : role, 
+						(tokenId == null) ? "" : tokenId, timestamp));
+		if (role != null)
+			requestBuilder.header(EdgeIdentityHeaders.ROLE, role);
+		if (tokenId != null)
+			requestBuilder.header(EdgeIdentityHeaders.TOKEN_ID, tokenId);
+		
+		return chain.filter(exchange.mutate().request(requestBuilder.build()).build());
+	}
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+	
+	private boolean isAccountActive(final Claims claims) {
+		for (final String flagClaim : ACCOUNT_FLAG_CLAIMS)
+			if (!Boolean.TRUE.equals(claims.get(flagClaim, Boolean.class)))
+				return false;
+		return true;
+	}
+	
+	private String sign(final String subject, final String role, final String tokenId, final String timestamp) {
+		try {
+			final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(this.edgeSecretKey);
+			final byte[] digest = mac.doFinal(String.join("\n", subject, role, tokenId, timestamp)
+					.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
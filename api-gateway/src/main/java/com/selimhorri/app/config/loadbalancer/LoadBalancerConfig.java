@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerClientConfig.class)
+public class LoadBalancerConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
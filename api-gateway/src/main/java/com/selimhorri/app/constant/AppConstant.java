@@ -0,0 +1,32 @@
+package com.selimhorri.app.constant;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class AppConstant {
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class EdgeIdentityHeaders {
+		
+		public static final String SUBJECT = "X-Edge-Auth-Subject";
+		public static final String ROLE = "X-Edge-Auth-Role";
+		public static final String TOKEN_ID = "X-Edge-Auth-Token-Id";
+		public static final String TIMESTAMP = "X-Edge-Auth-Timestamp";
+		public static final String SIGNATURE = "X-Edge-Auth-Signature";
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
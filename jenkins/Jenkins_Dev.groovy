@@ -296,7 +296,7 @@ PY
 
 for svc in $UNIT_SERVICES; do
   echo "➡️ Ejecutando pruebas unitarias para $svc"
-  ./mvnw -B -pl "$svc" test -Dtest='*ApplicationTests' -DfailIfNoTests=false
+  ./mvnw -B -pl "$svc" -am test -Dtest='*ApplicationTests' -DfailIfNoTests=false
   summarize_reports "$svc"
 done
 EOF
@@ -369,7 +369,7 @@ PY
 
 for svc in $UNIT_SERVICES; do
   echo "➡️ Ejecutando pruebas de integración para $svc"
-  ./mvnw -B -pl "$svc" test -Dtest='*IntegrationTest' -DfailIfNoTests=false
+  ./mvnw -B -pl "$svc" -am test -Dtest='*IntegrationTest' -DfailIfNoTests=false
   summarize_reports "$svc"
 done
 EOF
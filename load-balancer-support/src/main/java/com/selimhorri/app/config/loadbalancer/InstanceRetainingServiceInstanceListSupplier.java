@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+public class InstanceRetainingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+	
+	private final InstanceStatistics instanceStatistics;
+	private final OutlierDetector outlierDetector;
+	
+	public InstanceRetainingServiceInstanceListSupplier(final ServiceInstanceListSupplier delegate, 
+			final InstanceStatistics instanceStatistics, final OutlierDetector outlierDetector) {
+		super(delegate);
+		this.instanceStatistics = instanceStatistics;
+		this.outlierDetector = outlierDetector;
+	}
+	
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return this.delegate.get().doOnNext(this::retain);
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Flux<List<ServiceInstance>> get(final Request request) {
+		return this.delegate.get(request).doOnNext(this::retain);
+	}
+	
+	private void retain(final List<ServiceInstance> instances) {
+		this.instanceStatistics.retain(this.getServiceId(), instances);
+		this.outlierDetector.retain(this.getServiceId(), instances);
+	}
+	
+	
+	
+}
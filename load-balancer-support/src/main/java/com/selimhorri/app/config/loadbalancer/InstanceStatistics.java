@@ -0,0 +1,168 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class InstanceStatistics {
+	
+	private final long decayNanos;
+	private final long initialLatencyNanos;
+	private final long failurePenaltyNanos;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Map<String, InstanceScore>> services = new ConcurrentHashMap<>();
+	
+	public InstanceStatistics(
+			@Value("${app.load-balancer.ewma-decay:10s}") final Duration decay, 
+			@Value("${app.load-balancer.initial-latency:100ms}") final Duration initialLatency, 
+			@Value("${app.load-balancer.failure-penalty:1s}") final Duration failurePenalty, 
+			final MeterRegistry meterRegistry) {
+		this.decayNanos = decay.toNanos();
+		this.initialLatencyNanos = initialLatency.toNanos();
+		this.failurePenaltyNanos = failurePenalty.toNanos();
+		this.meterRegistry = meterRegistry;
+	}
+	
+	public double score(final ServiceInstance instance) {
+		return this.scoreOf(instance).score();
+	}
+	
+	public void started(final ServiceInstance instance) {
+		this.scoreOf(instance).started();
+	}
+	
+	public void completed(final ServiceInstance instance, final long latencyNanos, final boolean failed) {
+		this.scoreOf(instance).completed(failed ? Math.max(latencyNanos, this.failurePenaltyNanos) : latencyNanos, 
+				System.nanoTime());
+	}
+	
+	public void retain(final String serviceId, final List<ServiceInstance> current) {
+		final Map<String, InstanceScore> instances = this.services.get(serviceId.toUpperCase());
+		if (instances == null || current.isEmpty())
+			return;
+		final Set<String> currentKeys = current.stream()
+				.map(InstanceStatistics::instanceKey)
+				.collect(Collectors.toUnmodifiableSet());
+		instances.forEach((key, instanceScore) -> {
+			if (!currentKeys.contains(key) && instances.remove(key, instanceScore))
+				instanceScore.meters.forEach(this.meterRegistry::remove);
+		});
+	}
+	
+	private InstanceScore scoreOf(final ServiceInstance instance) {
+		final String service = instance.getServiceId().toUpperCase();
+		final Map<String, InstanceScore> instances = this.services
+				.computeIfAbsent(service, key -> new ConcurrentHashMap<>());
+		final InstanceScore existing = instances.get(instanceKey(instance));
+		if (existing != null)
+			return existing;
+		return instances.computeIfAbsent(instanceKey(instance), 
+				key -> this.register(service, key, averageLatency(instances.values())));
+	}
+	
+	private InstanceScore register(final String service, final String instance, final double initialLatencyNanos) {
+		final InstanceScore instanceScore = new InstanceScore(initialLatencyNanos, this.decayNanos);
+		instanceScore.meters.add(Gauge.builder("loadbalancer.instance.score", instanceScore, InstanceScore::score)
+				.description("Latency-aware load balancer score, lower is preferred")
+				.tags("service", service, "instance", instance)
+				.register(this.meterRegistry));
+		instanceScore.meters.add(Gauge.builder("loadbalancer.instance.outstanding", instanceScore, InstanceScore::outstanding)
+				.description("Requests in flight to the instance")
+				.tags("service", service, "instance", instance)
+				.register(this.meterRegistry));
+		instanceScore.meters.add(Gauge.builder("loadbalancer.instance.latency.ewma", instanceScore, 
+						score -> score.latencyNanos() / TimeUnit.SECONDS.toNanos(1))
+				.description("Peak exponentially weighted moving average of the instance latency")
+				.tags("service", service, "instance", instance)
+				.baseUnit("seconds")
+				.register(this.meterRegistry));
+		return instanceScore;
+	}
+	
+	private double averageLatency(final Iterable<InstanceScore> instances) {
+		double total = 0.0;
+		int count = 0;
+		for (final InstanceScore instanceScore : instances) {
+			total += instanceScore.latencyNanos();
+			count++;
+		}
+		return (count == 0) ? this.initialLatencyNanos : total / count;
+	}
+	
+	public static String instanceKey(final ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+	
+	private static final class InstanceScore {
+		
+		private final long decayNanos;
+		private final List<Meter> meters = new CopyOnWriteArrayList<>();
+		private double latencyNanos;
+		private long lastUpdateNanos;
+		private int outstanding;
+		
+		private InstanceScore(final double latencyNanos, final long decayNanos) {
+			this.latencyNanos = latencyNanos;
+			this.decayNanos = decayNanos;
+			this.lastUpdateNanos = System.nanoTime();
+		}
+		
+		private synchronized void started() {
+			this.outstanding++;
+		}
+		
+		private synchronized void completed(final long latencyNanos, final long nowNanos) {
+			this.outstanding = Math.max(0, this.outstanding - 1);
+			if (latencyNanos < 0L)
+				return;
+			if (latencyNanos > this.latencyNanos) {
+				this.latencyNanos = latencyNanos;
+			}
+			else {
+				final double weight = Math.exp(-(double) Math.max(0L, nowNanos - this.lastUpdateNanos) / this.decayNanos);
+				this.latencyNanos = this.latencyNanos * weight + latencyNanos * (1.0 - weight);
+			}
+			this.lastUpdateNanos = nowNanos;
+		}
+		
+		private synchronized double score() {
+			return this.latencyNanos * (this.outstanding + 1);
+		}
+		
+		private synchronized double latencyNanos() {
+			return this.latencyNanos;
+		}
+		
+		private synchronized int outstanding() {
+			return this.outstanding;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,65 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class InstanceStatisticsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final InstanceStatistics instanceStatistics;
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (!lbResponse.hasServer())
+			return;
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		this.instanceStatistics.started(lbResponse.getServer());
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		final Object context = completionContext.getLoadBalancerRequest().getContext();
+		final long latencyNanos = (context instanceof TimedRequestContext 
+				&& ((TimedRequestContext) context).getRequestStartTime() > 0L) 
+				? System.nanoTime() - ((TimedRequestContext) context).getRequestStartTime() 
+				: -1L;
+		final boolean failed = completionContext.status() == CompletionContext.Status.FAILED 
+				|| LoadBalancerOutcomes.isServerError(completionContext.getClientResponse());
+		this.instanceStatistics.completed(lbResponse.getServer(), latencyNanos, failed);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
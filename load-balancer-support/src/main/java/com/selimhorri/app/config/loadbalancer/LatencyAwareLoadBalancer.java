@@ -0,0 +1,84 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final InstanceStatistics instanceStatistics;
+	
+	public LatencyAwareLoadBalancer(final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider, 
+			final String serviceId, final InstanceStatistics instanceStatistics) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.instanceStatistics = instanceStatistics;
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next()
+				.map(instances -> this.choose(supplier, instances));
+	}
+	
+	private Response<ServiceInstance> choose(final ServiceInstanceListSupplier supplier, 
+			final List<ServiceInstance> instances) {
+		
+		if (instances.isEmpty()) {
+			log.warn("**LatencyAwareLoadBalancer, no instances available for {}*\n", this.serviceId);
+			return new EmptyResponse();
+		}
+		
+		final ServiceInstance chosen = this.powerOfTwoChoices(instances);
+		if (supplier instanceof SelectedInstanceCallback)
+			((SelectedInstanceCallback) supplier).selectedServiceInstance(chosen);
+		return new DefaultResponse(chosen);
+	}
+	
+	private ServiceInstance powerOfTwoChoices(final List<ServiceInstance> instances) {
+		if (instances.size() == 1)
+			return instances.get(0);
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		int second = random.nextInt(instances.size() - 1);
+		if (second >= first)
+			second++;
+		final ServiceInstance firstInstance = instances.get(first);
+		final ServiceInstance secondInstance = instances.get(second);
+		return (this.instanceStatistics.score(secondInstance) < this.instanceStatistics.score(firstInstance)) 
+				? secondInstance 
+				: firstInstance;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
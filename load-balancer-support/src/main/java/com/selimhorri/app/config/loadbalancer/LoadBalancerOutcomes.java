@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.client.ClientHttpResponse;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LoadBalancerOutcomes {
+	
+	private static final String CONNECT_TIMEOUT_EXCEPTION = "ConnectTimeoutException";
+	
+	static boolean isServerError(final Object clientResponse) {
+		try {
+			if (clientResponse instanceof ResponseData) {
+				final ResponseData responseData = (ResponseData) clientResponse;
+				return responseData.getHttpStatus() != null && responseData.getHttpStatus().is5xxServerError();
+			}
+			if (clientResponse instanceof ClientHttpResponse)
+				return ((ClientHttpResponse) clientResponse).getRawStatusCode() >= 500;
+			return false;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+	
+	static boolean isConnectFailure(final Throwable throwable) {
+		for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConnectException || cause instanceof NoRouteToHostException 
+					|| cause instanceof UnknownHostException 
+					|| CONNECT_TIMEOUT_EXCEPTION.equals(cause.getClass().getSimpleName()))
+				return true;
+			if (cause.getCause() == cause)
+				break;
+		}
+		return false;
+	}
+	
+	
+	
+}
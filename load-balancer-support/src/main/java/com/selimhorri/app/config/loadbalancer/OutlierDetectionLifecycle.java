@@ -0,0 +1,69 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class OutlierDetectionLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final OutlierDetector outlierDetector;
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		
+		switch (completionContext.status()) {
+			case SUCCESS:
+				if (LoadBalancerOutcomes.isServerError(completionContext.getClientResponse()))
+					this.outlierDetector.recordFailure(lbResponse.getServer());
+				else
+					this.outlierDetector.recordSuccess(lbResponse.getServer());
+				break;
+			case FAILED:
+				if (LoadBalancerOutcomes.isConnectFailure(completionContext.getThrowable()))
+					this.outlierDetector.recordFailure(lbResponse.getServer());
+				break;
+			default:
+				break;
+		}
+	}
+	
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
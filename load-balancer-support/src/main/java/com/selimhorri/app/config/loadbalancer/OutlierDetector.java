@@ -0,0 +1,189 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class OutlierDetector {
+	
+	private final boolean enabled;
+	private final int consecutiveFailures;
+	private final long baseEjectionNanos;
+	private final long maximumEjectionNanos;
+	private final int maximumEjectionPercent;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Map<String, InstanceHealth>> services = new ConcurrentHashMap<>();
+	
+	public OutlierDetector(
+			@Value("${app.load-balancer.outlier-detection.enabled:true}") final boolean enabled, 
+			@Value("${app.load-balancer.outlier-detection.consecutive-failures:5}") final int consecutiveFailures, 
+			@Value("${app.load-balancer.outlier-detection.base-ejection-time:30s}") final Duration baseEjectionTime, 
+			@Value("${app.load-balancer.outlier-detection.maximum-ejection-time:5m}") final Duration maximumEjectionTime, 
+			@Value("${app.load-balancer.outlier-detection.maximum-ejection-percent:50}") final int maximumEjectionPercent, 
+			final MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.consecutiveFailures = consecutiveFailures;
+		this.baseEjectionNanos = baseEjectionTime.toNanos();
+		this.maximumEjectionNanos = maximumEjectionTime.toNanos();
+		this.maximumEjectionPercent = maximumEjectionPercent;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	public void recordSuccess(final ServiceInstance instance) {
+		if (this.enabled)
+			this.healthOf(instance).success(System.nanoTime(), this.maximumEjectionNanos);
+	}
+	
+	public void recordFailure(final ServiceInstance instance) {
+		if (!this.enabled)
+			return;
+		final InstanceHealth health = this.healthOf(instance);
+		final long ejectionNanos = health.failure(System.nanoTime(), this.consecutiveFailures, 
+				this.baseEjectionNanos, this.maximumEjectionNanos);
+		if (ejectionNanos > 0L) {
+			health.ejections.increment();
+			log.info("**OutlierDetector, ejecting {} {} for {} ms*\n", instance.getServiceId(), 
+					InstanceStatistics.instanceKey(instance), ejectionNanos / 1_000_000L);
+		}
+	}
+	
+	public List<ServiceInstance> filter(final List<ServiceInstance> instances) {
+		
+		if (!this.enabled || instances.size() < 2)
+			return instances;
+		
+		final long now = System.nanoTime();
+		final Map<String, InstanceHealth> healths = this.services.get(instances.get(0).getServiceId().toUpperCase());
+		if (healths == null)
+			return instances;
+		
+		final List<ServiceInstance> available = new ArrayList<>(instances.size());
+		final List<ServiceInstance> ejected = new ArrayList<>();
+		for (final ServiceInstance instance : instances) {
+			final InstanceHealth health = healths.get(InstanceStatistics.instanceKey(instance));
+			if (health != null && health.isEjected(now))
+				ejected.add(instance);
+			else
+				available.add(instance);
+		}
+		if (ejected.isEmpty())
+			return instances;
+		
+		final int maximumEjected = instances.size() * this.maximumEjectionPercent / 100;
+		if (ejected.size() > maximumEjected) {
+			ejected.sort(Comparator.comparingLong(
+					instance -> healths.get(InstanceStatistics.instanceKey(instance)).ejectedUntilNanos()));
+			available.addAll(ejected.subList(0, ejected.size() - maximumEjected));
+		}
+		return available;
+	}
+	
+	public void retain(final String serviceId, final List<ServiceInstance> current) {
+		final Map<String, InstanceHealth> healths = this.services.get(serviceId.toUpperCase());
+		if (healths == null || current.isEmpty())
+			return;
+		final Set<String> currentKeys = current.stream()
+				.map(InstanceStatistics::instanceKey)
+				.collect(Collectors.toUnmodifiableSet());
+		healths.forEach((key, health) -> {
+			if (!currentKeys.contains(key) && healths.remove(key, health)) {
+				this.meterRegistry.remove(health.ejections);
+				this.meterRegistry.remove(health.ejectedGauge);
+			}
+		});
+	}
+	
+	private InstanceHealth healthOf(final ServiceInstance instance) {
+		final String service = instance.getServiceId().toUpperCase();
+		return this.services.computeIfAbsent(service, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(InstanceStatistics.instanceKey(instance), key -> this.register(service, key));
+	}
+	
+	private InstanceHealth register(final String service, final String instance) {
+		final InstanceHealth health = new InstanceHealth(Counter.builder("loadbalancer.outlier.ejections")
+				.description("Instances ejected from the load balancer after consecutive failures")
+				.tags("service", service, "instance", instance)
+				.register(this.meterRegistry));
+		health.ejectedGauge = Gauge.builder("loadbalancer.outlier.ejected", health, 
+						value -> value.isEjected(System.nanoTime()) ? 1 : 0)
+				.description("Whether the instance is currently ejected from the load balancer")
+				.tags("service", service, "instance", instance)
+				.register(this.meterRegistry);
+		return health;
+	}
+	
+	private static final class InstanceHealth {
+		
+		private final Counter ejections;
+		private volatile Gauge ejectedGauge;
+		private int consecutiveFailures;
+		private int ejectionCount;
+		private long ejectedUntilNanos;
+		private boolean ejected;
+		
+		private InstanceHealth(final Counter ejections) {
+			this.ejections = ejections;
+		}
+		
+		private synchronized void success(final long nowNanos, final long maximumEjectionNanos) {
+			this.consecutiveFailures = 0;
+			if (this.ejectionCount > 0 && !this.isEjected(nowNanos) 
+					&& nowNanos - this.ejectedUntilNanos > maximumEjectionNanos)
+				this.ejectionCount = 0;
+		}
+		
+		private synchronized long failure(final long nowNanos, final int threshold, 
+				final long baseEjectionNanos, final long maximumEjectionNanos) {
+			this.consecutiveFailures++;
+			if (this.consecutiveFailures < threshold || this.isEjected(nowNanos))
+				return 0L;
+			final long ejectionNanos = Math.min(maximumEjectionNanos, 
+					baseEjectionNanos << Math.min(this.ejectionCount, 20));
+			this.ejectionCount++;
+			this.consecutiveFailures = 0;
+			this.ejected = true;
+			this.ejectedUntilNanos = nowNanos + ejectionNanos;
+			return ejectionNanos;
+		}
+		
+		private synchronized boolean isEjected(final long nowNanos) {
+			if (this.ejected && nowNanos - this.ejectedUntilNanos >= 0L)
+				this.ejected = false;
+			return this.ejected;
+		}
+		
+		private synchronized long ejectedUntilNanos() {
+			return this.ejectedUntilNanos;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,45 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+public class OutlierEjectingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+	
+	private final OutlierDetector outlierDetector;
+	
+	public OutlierEjectingServiceInstanceListSupplier(final ServiceInstanceListSupplier delegate, 
+			final OutlierDetector outlierDetector) {
+		super(delegate);
+		this.outlierDetector = outlierDetector;
+	}
+	
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return this.delegate.get().map(this.outlierDetector::filter);
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Flux<List<ServiceInstance>> get(final Request request) {
+		return this.delegate.get(request).map(this.outlierDetector::filter);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
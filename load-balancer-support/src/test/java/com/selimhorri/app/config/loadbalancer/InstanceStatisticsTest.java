@@ -0,0 +1,63 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstanceStatisticsTest {
+	
+	private static final String SERVICE = "user-service";
+	
+	private final ServiceInstance instanceA = new DefaultServiceInstance("a", SERVICE, "host-a", 8700, false);
+	private final ServiceInstance instanceB = new DefaultServiceInstance("b", SERVICE, "host-b", 8700, false);
+	private final ServiceInstance instanceC = new DefaultServiceInstance("c", SERVICE, "host-c", 8700, false);
+	
+	private SimpleMeterRegistry meterRegistry;
+	private InstanceStatistics instanceStatistics;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.instanceStatistics = new InstanceStatistics(Duration.ofSeconds(10), Duration.ofMillis(100),
+				Duration.ofSeconds(1), this.meterRegistry);
+		this.instanceStatistics.completed(this.instanceA, TimeUnit.MILLISECONDS.toNanos(5), false);
+		this.instanceStatistics.completed(this.instanceB, TimeUnit.MILLISECONDS.toNanos(5), false);
+	}
+	
+	@Test
+	void replacedInstanceIsPrunedEvenWhenTheInstanceCountIsUnchanged() {
+		
+		this.instanceStatistics.retain(SERVICE, List.of(this.instanceA, this.instanceC));
+		
+		assertNotNull(this.scoreGauge(this.instanceA));
+		assertNull(this.scoreGauge(this.instanceB));
+	}
+	
+	@Test
+	void emptyInstanceListKeepsTheStatistics() {
+		
+		this.instanceStatistics.retain(SERVICE, List.of());
+		
+		assertNotNull(this.scoreGauge(this.instanceA));
+		assertNotNull(this.scoreGauge(this.instanceB));
+	}
+	
+	private Object scoreGauge(final ServiceInstance instance) {
+		return this.meterRegistry.find("loadbalancer.instance.score")
+				.tag("instance", InstanceStatistics.instanceKey(instance))
+				.gauge();
+	}
+	
+	
+	
+}
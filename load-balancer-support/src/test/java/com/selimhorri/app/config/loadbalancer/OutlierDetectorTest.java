@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutlierDetectorTest {
+	
+	private static final String SERVICE = "user-service";
+	
+	private final ServiceInstance instanceA = new DefaultServiceInstance("a", SERVICE, "host-a", 8700, false);
+	private final ServiceInstance instanceB = new DefaultServiceInstance("b", SERVICE, "host-b", 8700, false);
+	private final ServiceInstance instanceC = new DefaultServiceInstance("c", SERVICE, "host-c", 8700, false);
+	
+	private SimpleMeterRegistry meterRegistry;
+	private OutlierDetector outlierDetector;
+	
+	@BeforeEach
+	void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.outlierDetector = new OutlierDetector(true, 1, Duration.ofSeconds(30), Duration.ofMinutes(5), 50,
+				this.meterRegistry);
+	}
+	
+	@Test
+	void replacedInstanceIsPrunedEvenWhenTheInstanceCountIsUnchanged() {
+		
+		this.outlierDetector.recordSuccess(this.instanceA);
+		this.outlierDetector.recordFailure(this.instanceB);
+		
+		this.outlierDetector.retain(SERVICE, List.of(this.instanceA, this.instanceC));
+		
+		assertNotNull(this.ejectedGauge(this.instanceA));
+		assertNull(this.ejectedGauge(this.instanceB));
+	}
+	
+	@Test
+	void ejectedInstanceIsFilteredOut() {
+		
+		this.outlierDetector.recordSuccess(this.instanceA);
+		this.outlierDetector.recordFailure(this.instanceB);
+		
+		assertEquals(List.of(this.instanceA), this.outlierDetector.filter(List.of(this.instanceA, this.instanceB)));
+	}
+	
+	private Object ejectedGauge(final ServiceInstance instance) {
+		return this.meterRegistry.find("loadbalancer.outlier.ejected")
+				.tag("instance", InstanceStatistics.instanceKey(instance))
+				.gauge();
+	}
+	
+	
+	
+}
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.auth.controller;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -12,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,20 +30,58 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationController {
 	
 	private final AuthenticationService authenticationService;
+	private final ControllerExecutor controllerExecutor;
 	
 	@PostMapping
-	public ResponseEntity<AuthenticationResponse> authenticate(
+	public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticate(
 			@RequestBody 
 			@NotNull(message = "") 
 			@Valid final AuthenticationRequest authenticationRequest) {
-		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
+		return this.controllerExecutor.supply(() -> {
+			log.info("**Authentication controller, proceed with the request*\n");
+			return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
+		});
+	}
+	
+	@PostMapping("/refresh")
+	public CompletableFuture<ResponseEntity<AuthenticationResponse>> refresh(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final RefreshTokenRequest refreshTokenRequest) {
+		return this.controllerExecutor.supply(() -> {
+			log.info("**Authentication controller, proceed with the refresh request*\n");
+			return ResponseEntity.ok(this.authenticationService.refresh(refreshTokenRequest));
+		});
+	}
+	
+	@PostMapping("/revoke")
+	public CompletableFuture<ResponseEntity<Boolean>> revoke(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final RefreshTokenRequest refreshTokenRequest) {
+		return this.controllerExecutor.supply(() -> {
+			log.info("**Authentication controller, proceed with the revoke request*\n");
+			return ResponseEntity.ok(this.authenticationService.revoke(refreshTokenRequest));
+		});
 	}
 	
 	@GetMapping("/jwt/{jwt}")
-	public ResponseEntity<Boolean> authenticate(@PathVariable("jwt") final String jwt) {
-		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
+	public CompletableFuture<ResponseEntity<Boolean>> authenticate(@PathVariable("jwt") final String jwt) {
+		return this.controllerExecutor.supply(() -> {
+			log.info("**Authentication controller, proceed with the request*\n");
+			return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
+		});
+	}
+	
+	@PostMapping("/jwt/bulk")
+	public CompletableFuture<ResponseEntity<List<Boolean>>> authenticate(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final List<String> jwts) {
+		return this.controllerExecutor.supply(() -> {
+			log.info("**Authentication controller, proceed with the bulk request*\n");
+			return ResponseEntity.ok(this.authenticationService.authenticate(jwts));
+		});
 	}
 	
 	
@@ -15,6 +15,7 @@ public class AuthenticationResponse implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	private String jwtToken;
+	private String refreshToken;
 	
 }
 
@@ -1,11 +1,17 @@
 package com.selimhorri.app.business.auth.service;
 
+import java.util.List;
+
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 
 public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
 	Boolean authenticate(final String jwt);
+	List<Boolean> authenticate(final List<String> jwts);
+	AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest);
+	Boolean revoke(final RefreshTokenRequest refreshTokenRequest);
 	
 }
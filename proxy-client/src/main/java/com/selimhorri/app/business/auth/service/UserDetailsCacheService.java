@@ -0,0 +1,12 @@
+package com.selimhorri.app.business.auth.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface UserDetailsCacheService {
+	
+	UserDetails reloadUserByUsername(final String username);
+	void evictByUsername(final String username);
+	void evictByCredentialId(final String credentialId);
+	void evictByUserId(final String userId);
+	
+}
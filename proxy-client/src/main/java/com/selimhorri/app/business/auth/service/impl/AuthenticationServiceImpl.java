@@ -1,17 +1,33 @@
 package com.selimhorri.app.business.auth.service.impl;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.config.encoder.BoundedPasswordVerifier;
+import com.selimhorri.app.constant.AppConstant.TokenTypes;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+import com.selimhorri.app.jwt.cache.RejectedTokenCache;
+import com.selimhorri.app.jwt.revocation.RevokedTokenFilter;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,30 +36,124 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 	
-	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final BoundedPasswordVerifier passwordVerifier;
 	private final JwtService jwtService;
+	private final RejectedTokenCache rejectedTokenCache;
+	private final RevokedTokenFilter revokedTokenFilter;
+	private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+	
+	@Value("${app.jwt.introspection.maximum-batch-size:500}")
+	private int maximumBatchSize;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
 		
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 		
+		final UserDetails userDetails;
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
+			userDetails = this.userDetailsCacheService.reloadUserByUsername(authenticationRequest.getUsername());
 		}
-		catch (BadCredentialsException e) {
+		catch (UsernameNotFoundException e) {
+			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
+		}
+		
+		if (userDetails.getPassword() == null 
+				|| !this.passwordVerifier.matches(authenticationRequest.getPassword(), userDetails.getPassword()))
 			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
+		
+		this.userDetailsChecker.check(userDetails);
+		
+		return this.issueTokens(userDetails);
+	}
+	
+	@Override
+	public AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest) {
+		
+		log.info("** AuthenticationResponse, refresh tokens service*\n");
+		
+		final String refreshToken = refreshTokenRequest.getRefreshToken();
+		final String username;
+		try {
+			if (!this.jwtService.validateRefreshToken(refreshToken))
+				throw new IllegalAuthenticationCredentialsException("#### Invalid refresh token! ####");
+			username = this.jwtService.extractUsername(refreshToken);
 		}
+		catch (JwtException | IllegalArgumentException e) {
+			throw new IllegalAuthenticationCredentialsException("#### Invalid refresh token! ####");
+		}
+		
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+		this.userDetailsChecker.check(userDetails);
+		if (!this.jwtService.revokeToken(refreshToken))
+			throw new IllegalAuthenticationCredentialsException("#### Invalid refresh token! ####");
 		
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername())));
+		return this.issueTokens(userDetails);
+	}
+	
+	@Override
+	public Boolean revoke(final RefreshTokenRequest refreshTokenRequest) {
+		
+		log.info("** Boolean, revoke token service*\n");
+		
+		try {
+			this.jwtService.revokeToken(refreshTokenRequest.getRefreshToken());
+			return true;
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			return false;
+		}
+	}
+	
+	private AuthenticationResponse issueTokens(final UserDetails userDetails) {
+		return AuthenticationResponse.builder()
+				.jwtToken(this.jwtService.generateToken(userDetails))
+				.refreshToken(this.jwtService.generateRefreshToken(userDetails))
+				.build();
 	}
 	
 	@Override
 	public Boolean authenticate(final String jwt) {
-		return null;
+		log.info("** Boolean, introspect token service*\n");
+		return this.introspect(jwt);
+	}
+	
+	@Override
+	public List<Boolean> authenticate(final List<String> jwts) {
+		
+		log.info("** List<Boolean>, introspect token batch service*\n");
+		
+		if (jwts.size() > this.maximumBatchSize)
+			throw new InvalidRequestParameterException(String
+					.format("#### At most %d tokens can be introspected per request! ####", this.maximumBatchSize));
+		
+		return jwts.stream()
+				.map(this::introspect)
+				.collect(Collectors.toList());
+	}
+	
+	private Boolean introspect(final String jwt) {
+		
+		if (jwt == null || jwt.isBlank() || this.rejectedTokenCache.isRejected(jwt))
+			return false;
+		
+		try {
+			final Claims claims = this.jwtService.extractClaims(jwt, Function.identity());
+			if (!TokenTypes.ACCESS.equals(claims.get(TokenTypes.CLAIM, String.class)) 
+					|| this.revokedTokenFilter.mightBeRevoked(claims.getId()))
+				return false;
+			final Date expiration = claims.getExpiration();
+			if (expiration == null || expiration.after(new Date()))
+				return true;
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.info("** Boolean, token rejected: {}*\n", e.getClass().getSimpleName());
+		}
+		
+		this.rejectedTokenCache.reject(jwt);
+		return false;
 	}
 	
 	
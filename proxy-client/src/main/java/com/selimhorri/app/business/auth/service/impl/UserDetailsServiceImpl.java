@@ -1,30 +1,124 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.constant.AppConstant;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsCacheService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
+	private static final String CACHE_NAME = "auth.user-details";
 	private final RestTemplate restTemplate;
+	private final LoadingCache<String, CredentialDto> credentialCache;
+	private final Map<Integer, String> usernamesByCredentialId = new ConcurrentHashMap<>();
+	private final Map<Integer, String> usernamesByUserId = new ConcurrentHashMap<>();
+	
+	public UserDetailsServiceImpl(final RestTemplate restTemplate, 
+			@Value("${app.auth.user-cache.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.auth.user-cache.time-to-live:PT5M}") final Duration timeToLive, 
+			@Value("${app.auth.user-cache.refresh-after:PT1M}") final Duration refreshAfter, 
+			final MeterRegistry meterRegistry) {
+		this.restTemplate = restTemplate;
+		this.credentialCache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.refreshAfterWrite(refreshAfter)
+				.removalListener(this::unindex)
+				.recordStats()
+				.build(this::fetchCredential);
+		CaffeineCacheMetrics.monitor(meterRegistry, this.credentialCache, CACHE_NAME);
+	}
 	
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		return new UserDetailsImpl(this.credentialCache.get(username));
+	}
+	
+	@Override
+	public UserDetails reloadUserByUsername(final String username) throws UsernameNotFoundException {
+		log.info("**UserDetails, reload user by username bypassing the cache*\n");
+		final CredentialDto credentialDto = this.fetchCredential(username);
+		if (credentialDto == null) {
+			this.credentialCache.invalidate(username);
+			throw new UsernameNotFoundException(String.format("#### Username: %s not found! ####", username));
+		}
+		this.credentialCache.put(username, credentialDto);
+		return new UserDetailsImpl(credentialDto);
+	}
+	
+	@Override
+	public void evictByUsername(final String username) {
+		log.info("**UserDetails, evict cached credential by username*\n");
+		if (username != null)
+			this.credentialCache.invalidate(username);
+	}
+	
+	@Override
+	public void evictByCredentialId(final String credentialId) {
+		log.info("**UserDetails, evict cached credential by credentialId*\n");
+		final Integer id = parseId(credentialId);
+		if (id != null)
+			this.evictByUsername(this.usernamesByCredentialId.get(id));
+	}
+	
+	@Override
+	public void evictByUserId(final String userId) {
+		log.info("**UserDetails, evict cached credential by userId*\n");
+		final Integer id = parseId(userId);
+		if (id != null)
+			this.evictByUsername(this.usernamesByUserId.get(id));
+	}
+	
+	private CredentialDto fetchCredential(final String username) {
+		log.info("**UserDetails, fetch credential from user service*\n");
+		final var credentialDto = this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class);
+		if (credentialDto != null) {
+			if (credentialDto.getCredentialId() != null)
+				this.usernamesByCredentialId.put(credentialDto.getCredentialId(), username);
+			if (credentialDto.getUserDto() != null && credentialDto.getUserDto().getUserId() != null)
+				this.usernamesByUserId.put(credentialDto.getUserDto().getUserId(), username);
+		}
+		return credentialDto;
+	}
+	
+	private void unindex(final String username, final CredentialDto credentialDto, final RemovalCause removalCause) {
+		if (credentialDto == null || removalCause == RemovalCause.REPLACED)
+			return;
+		if (credentialDto.getCredentialId() != null)
+			this.usernamesByCredentialId.remove(credentialDto.getCredentialId(), username);
+		if (credentialDto.getUserDto() != null && credentialDto.getUserDto().getUserId() != null)
+			this.usernamesByUserId.remove(credentialDto.getUserDto().getUserId(), username);
+	}
+	
+	private static Integer parseId(final String id) {
+		try {
+			return id == null ? null : Integer.valueOf(id.strip());
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
 	}
 	
 	
@@ -0,0 +1,24 @@
+package com.selimhorri.app.business.batch.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchRequest implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotEmpty(message = "Input must not be empty!")
+	private List<String> ids;
+	
+}
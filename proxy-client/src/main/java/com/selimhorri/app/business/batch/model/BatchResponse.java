@@ -0,0 +1,22 @@
+package com.selimhorri.app.business.batch.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class BatchResponse<T> implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Map<String, T> results;
+	private Map<String, BatchError> errors;
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.business.batch.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.batch.model.BatchResponse;
+
+public interface BatchService {
+	
+	<T> BatchResponse<T> findAllById(final List<String> ids, final Function<String, ResponseEntity<T>> loader);
+	
+}
@@ -0,0 +1,165 @@
+package com.selimhorri.app.business.batch.service.impl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.batch.model.BatchError;
+import com.selimhorri.app.business.batch.model.BatchResponse;
+import com.selimhorri.app.business.batch.service.BatchService;
+import com.selimhorri.app.config.executor.DownstreamExecutor;
+import com.selimhorri.app.exception.wrapper.DownstreamUnavailableException;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class BatchServiceImpl implements BatchService {
+	
+	private final DownstreamExecutor downstreamExecutor;
+	private final int concurrency;
+	private final int maximumSize;
+	private final long timeoutNanos;
+	
+	public BatchServiceImpl(final DownstreamExecutor downstreamExecutor, 
+			@Value("${app.batch.concurrency:16}") final int concurrency, 
+			@Value("${app.batch.maximum-size:100}") final int maximumSize, 
+			@Value("${app.batch.timeout:PT5S}") final Duration timeout) {
+		this.downstreamExecutor = downstreamExecutor;
+		this.concurrency = concurrency;
+		this.maximumSize = maximumSize;
+		this.timeoutNanos = timeout.toNanos();
+	}
+	
+	@Override
+	public <T> BatchResponse<T> findAllById(final List<String> ids, final Function<String, ResponseEntity<T>> loader) {
+		
+		log.info("**BatchService, fetch batch*\n");
+		final List<String> distinctIds = ids.stream()
+				.filter(Objects::nonNull)
+				.map(String::strip)
+				.filter(id -> !id.isEmpty())
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		if (distinctIds.size() > this.maximumSize)
+			throw new InvalidRequestParameterException(String
+					.format("#### Batch must not contain more than %d ids! ####", this.maximumSize));
+		
+		final long deadline = System.nanoTime() + this.timeoutNanos;
+		final Map<String, CompletableFuture<ResponseEntity<T>>> calls = this.fanOut(distinctIds, loader, deadline);
+		final Map<String, T> results = new LinkedHashMap<>();
+		final Map<String, BatchError> errors = new LinkedHashMap<>();
+		
+		calls.forEach((id, call) -> {
+			try {
+				final ResponseEntity<T> response = call.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null)
+					results.put(id, response.getBody());
+				else
+					errors.put(id, error((response == null || response.getStatusCode().is2xxSuccessful()) 
+							? HttpStatus.NOT_FOUND.value() : response.getStatusCodeValue(), "#### Not found! ####"));
+			}
+			catch (TimeoutException e) {
+				call.cancel(true);
+				errors.put(id, error(HttpStatus.GATEWAY_TIMEOUT.value(), "#### Timed out! ####"));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				call.cancel(true);
+				errors.put(id, error(HttpStatus.SERVICE_UNAVAILABLE.value(), "#### Interrupted! ####"));
+			}
+			catch (ExecutionException e) {
+				errors.put(id, toError(e.getCause()));
+			}
+		});
+		
+		return BatchResponse.<T>builder()
+				.results(results)
+				.errors(errors)
+				.build();
+	}
+	
+	private <T> Map<String, CompletableFuture<ResponseEntity<T>>> fanOut(final List<String> ids, 
+			final Function<String, ResponseEntity<T>> loader, final long deadline) {
+		
+		final Semaphore permits = new Semaphore(this.concurrency);
+		final Map<String, CompletableFuture<ResponseEntity<T>>> calls = new LinkedHashMap<>();
+		
+		for (final String id : ids) {
+			try {
+				if (!permits.tryAcquire(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+					calls.put(id, CompletableFuture.failedFuture(new TimeoutException()));
+					continue;
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("#### Batch interrupted! ####", e);
+			}
+			CompletableFuture<ResponseEntity<T>> call;
+			try {
+				call = CompletableFuture.supplyAsync(() -> loader.apply(id), this.downstreamExecutor::execute);
+			}
+			catch (RejectedExecutionException e) {
+				call = CompletableFuture.failedFuture(e);
+			}
+			call.whenComplete((response, e) -> permits.release());
+			calls.put(id, call);
+		}
+		return calls;
+	}
+	
+	private static BatchError toError(final Throwable throwable) {
+		final Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) 
+				? throwable.getCause() 
+				: throwable;
+		if (cause instanceof FeignException) {
+			final FeignException feignException = (FeignException) cause;
+			return error((feignException.status() > 0) ? feignException.status() : HttpStatus.BAD_GATEWAY.value(), 
+					feignException.contentUTF8().isEmpty() ? feignException.getMessage() : feignException.contentUTF8());
+		}
+		if (cause instanceof TimeoutException)
+			return error(HttpStatus.GATEWAY_TIMEOUT.value(), "#### Timed out! ####");
+		if (cause instanceof DownstreamUnavailableException || cause instanceof RejectedExecutionException)
+			return error(HttpStatus.SERVICE_UNAVAILABLE.value(), "#### Service unavailable, try again later! ####");
+		return error(HttpStatus.INTERNAL_SERVER_ERROR.value(), cause.getMessage());
+	}
+	
+	private static BatchError error(final int status, final String msg) {
+		return BatchError.builder()
+				.status(status)
+				.msg(msg)
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,12 +11,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,48 +30,72 @@ import lombok.RequiredArgsConstructor;
 public class FavouriteController {
 	
 	private final FavouriteClientService favouriteClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.favouriteClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = { "passthrough=true", "!limit" })
+	public ResponseEntity<StreamingResponseBody> findAllPassthrough() {
+		return this.collectionStreamer.passthrough(this.favouriteClientService::streamAll);
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.favouriteClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.favouriteClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
-	public ResponseEntity<FavouriteDto> findById(
+	public CompletableFuture<ResponseEntity<FavouriteDto>> findById(
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(userId, productId, likeDate).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.favouriteClientService.findById(userId, productId, likeDate).getBody()));
 	}
 	
 	@GetMapping("/find")
-	public ResponseEntity<FavouriteDto> findById(@RequestBody final FavouriteId favouriteId) {
-		return ResponseEntity.ok(this.favouriteClientService.findById(favouriteId).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> findById(@RequestBody final FavouriteId favouriteId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.favouriteClientService.findById(favouriteId).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<FavouriteDto> save(@RequestBody final FavouriteDto favouriteDto) {
-		return ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> save(@RequestBody final FavouriteDto favouriteDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.favouriteClientService.save(favouriteDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<FavouriteDto> update(@RequestBody final FavouriteDto favouriteDto) {
-		return ResponseEntity.ok(this.favouriteClientService.update(favouriteDto).getBody());
+	public CompletableFuture<ResponseEntity<FavouriteDto>> update(@RequestBody final FavouriteDto favouriteDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.favouriteClientService.update(favouriteDto).getBody()));
 	}
 	
 	@DeleteMapping("/{userId}/{productId}/{likeDate}")
-	public ResponseEntity<Boolean> deleteById(
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(
 			@PathVariable("userId") final String userId, 
 			@PathVariable("productId") final String productId, 
 			@PathVariable("likeDate") final String likeDate) {
-		this.favouriteClientService.deleteById(userId, productId, likeDate).getBody();
-		return ResponseEntity.ok(true);
+		return this.controllerExecutor.supply(() -> {
+			this.favouriteClientService.deleteById(userId, productId, likeDate).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	@DeleteMapping("/delete")
-	public ResponseEntity<Boolean> deleteById(@RequestBody final FavouriteId favouriteId) {
-		this.favouriteClientService.deleteById(favouriteId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@RequestBody final FavouriteId favouriteId) {
+		return this.controllerExecutor.supply(() -> {
+			this.favouriteClientService.deleteById(favouriteId).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	
@@ -16,12 +16,17 @@ import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 
+import feign.Response;
+
 @FeignClient(name = "FAVOURITE-SERVICE", contextId = "favouriteClientService", path = "/favourite-service/api/favourites")
 public interface FavouriteClientService {
 	
 	@GetMapping
 	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping
+	Response streamAll();
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +15,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.batch.model.BatchRequest;
+import com.selimhorri.app.business.batch.model.BatchResponse;
+import com.selimhorri.app.business.batch.service.BatchService;
 import com.selimhorri.app.business.order.model.CartDto;
 import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,51 +36,82 @@ import lombok.RequiredArgsConstructor;
 public class CartController {
 	
 	private final CartClientService cartClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final BatchService batchService;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CartOrderServiceDtoCollectionResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.cartClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = { "passthrough=true", "!limit" })
+	public ResponseEntity<StreamingResponseBody> findAllPassthrough() {
+		return this.collectionStreamer.passthrough(this.cartClientService::streamAll);
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.cartClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.cartClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{cartId}")
-	public ResponseEntity<CartDto> findById(
+	public CompletableFuture<ResponseEntity<CartDto>> findById(
 			@PathVariable("cartId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String cartId) {
-		return ResponseEntity.ok(this.cartClientService.findById(cartId).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.cartClientService.findById(cartId).getBody()));
+	}
+	
+	@PostMapping("/batch")
+	public CompletableFuture<ResponseEntity<BatchResponse<CartDto>>> findAllById(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final BatchRequest batchRequest) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.batchService.findAllById(batchRequest.getIds(), this.cartClientService::findById)));
 	}
 	
 	@PostMapping
-	public ResponseEntity<CartDto> save(
+	public CompletableFuture<ResponseEntity<CartDto>> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.save(cartDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.cartClientService.save(cartDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<CartDto> update(
+	public CompletableFuture<ResponseEntity<CartDto>> update(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.update(cartDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.cartClientService.update(cartDto).getBody()));
 	}
 	
 	@PutMapping("/{cartId}")
-	public ResponseEntity<CartDto> update(
+	public CompletableFuture<ResponseEntity<CartDto>> update(
 			@PathVariable("cartId")
 			@NotBlank(message = "Input must not be blank!")
 			@Valid final String cartId,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final CartDto cartDto) {
-		return ResponseEntity.ok(this.cartClientService.update(cartId, cartDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.cartClientService.update(cartId, cartDto).getBody()));
 	}
 	
 	@DeleteMapping("/{cartId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("cartId") final String cartId) {
-		this.cartClientService.deleteById(cartId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("cartId") final String cartId) {
+		return this.controllerExecutor.supply(() -> {
+			this.cartClientService.deleteById(cartId).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	
@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +15,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.batch.model.BatchRequest;
+import com.selimhorri.app.business.batch.model.BatchResponse;
+import com.selimhorri.app.business.batch.service.BatchService;
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,51 +38,91 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 	
 	private final OrderClientService orderClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final BatchService batchService;
+	private final OrderDetailsService orderDetailsService;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = { "passthrough=true", "!limit" })
+	public ResponseEntity<StreamingResponseBody> findAllPassthrough() {
+		return this.collectionStreamer.passthrough(this.orderClientService::streamAll);
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.orderClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.orderClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{orderId}")
-	public ResponseEntity<OrderDto> findById(
+	public CompletableFuture<ResponseEntity<OrderDto>> findById(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String orderId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderClientService.findById(orderId).getBody()));
+	}
+	
+	@PostMapping("/batch")
+	public CompletableFuture<ResponseEntity<BatchResponse<OrderDto>>> findAllById(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final BatchRequest batchRequest) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.batchService.findAllById(batchRequest.getIds(), this.orderClientService::findById)));
+	}
+	
+	@GetMapping("/{orderId}/details")
+	public CompletableFuture<ResponseEntity<OrderDetailsResponse>> findDetailsById(
 			@PathVariable("orderId") 
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String orderId) {
-		return ResponseEntity.ok(this.orderClientService.findById(orderId).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderDetailsService.findDetailsById(orderId)));
 	}
 	
 	@PostMapping
-	public ResponseEntity<OrderDto> save(
+	public CompletableFuture<ResponseEntity<OrderDto>> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderClientService.save(orderDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<OrderDto> update(
+	public CompletableFuture<ResponseEntity<OrderDto>> update(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.update(orderDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderClientService.update(orderDto).getBody()));
 	}
 	
 	@PutMapping("/{orderId}")
-	public ResponseEntity<OrderDto> update(
+	public CompletableFuture<ResponseEntity<OrderDto>> update(
 			@PathVariable("orderId")
 			@NotBlank(message = "Input must not be blank!")
 			@Valid final String orderId,
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.update(orderId, orderDto).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderClientService.update(orderId, orderDto).getBody()));
 	}
 	
 	@DeleteMapping("/{orderId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("orderId") final String orderId) {
-		this.orderClientService.deleteById(orderId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("orderId") final String orderId) {
+		return this.controllerExecutor.supply(() -> {
+			this.orderClientService.deleteById(orderId).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	
@@ -0,0 +1,48 @@
+package com.selimhorri.app.business.order.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonInclude(Include.NON_NULL)
+public class OrderDetailsResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	@JsonProperty("cart")
+	private CartDto cartDto;
+	
+	@JsonProperty("orderItems")
+	private Collection<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("payments")
+	private Collection<PaymentDto> paymentDtos;
+	
+	@JsonProperty("products")
+	private Map<String, ProductDto> productDtos;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Map<String, String> errors;
+	
+}
@@ -0,0 +1,186 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderDetailsResponse;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+import com.selimhorri.app.config.executor.DownstreamExecutor;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class OrderDetailsServiceImpl implements OrderDetailsService {
+	
+	private static final String ORDER = "order";
+	private static final String CART = "cart";
+	private static final String ORDER_ITEMS = "orderItems";
+	private static final String PAYMENTS = "payments";
+	private static final String PRODUCT = "product:";
+	
+	private final OrderClientService orderClientService;
+	private final CartClientService cartClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final CatalogCacheService catalogCacheService;
+	private final DownstreamExecutor downstreamExecutor;
+	private final long branchTimeoutMillis;
+	
+	public OrderDetailsServiceImpl(final OrderClientService orderClientService, 
+			final CartClientService cartClientService, 
+			final OrderItemClientService orderItemClientService, 
+			final PaymentClientService paymentClientService, 
+			final CatalogCacheService catalogCacheService, 
+			final DownstreamExecutor downstreamExecutor, 
+			@Value("${app.order-details.branch-timeout:PT2S}") final Duration branchTimeout) {
+		this.orderClientService = orderClientService;
+		this.cartClientService = cartClientService;
+		this.orderItemClientService = orderItemClientService;
+		this.paymentClientService = paymentClientService;
+		this.catalogCacheService = catalogCacheService;
+		this.downstreamExecutor = downstreamExecutor;
+		this.branchTimeoutMillis = branchTimeout.toMillis();
+	}
+	
+	@Override
+	public OrderDetailsResponse findDetailsById(final String orderId) {
+		
+		log.info("**OrderDetailsService, compose order details*\n");
+		final Integer id = parseOrderId(orderId);
+		
+		final CompletableFuture<OrderDto> order = this.branch(() -> this.orderClientService.findById(String.valueOf(id)).getBody());
+		final CompletableFuture<CartDto> cart = order.thenCompose(orderDto -> Optional.ofNullable(orderDto)
+				.map(OrderDto::getCartDto)
+				.map(CartDto::getCartId)
+				.map(cartId -> this.branch(() -> this.cartClientService.findById(String.valueOf(cartId)).getBody()))
+				.orElseGet(() -> CompletableFuture.completedFuture(null)));
+		final CompletableFuture<List<OrderItemDto>> orderItems = this.branch(() -> 
+				this.orderItemClientService.findAll().getBody().getCollection().stream()
+					.filter(orderItemDto -> id.equals(orderItemDto.getOrderId()))
+					.collect(Collectors.toUnmodifiableList()));
+		final CompletableFuture<List<PaymentDto>> payments = this.branch(() -> 
+				this.paymentClientService.findAll().getBody().getCollection().stream()
+					.filter(paymentDto -> paymentDto.getOrderDto() != null 
+							&& id.equals(paymentDto.getOrderDto().getOrderId()))
+					.collect(Collectors.toUnmodifiableList()));
+		final CompletableFuture<Map<Integer, CompletableFuture<ProductDto>>> products = orderItems.thenApply(orderItemDtos -> 
+				orderItemDtos.stream()
+					.map(OrderItemDto::getProductId)
+					.filter(Objects::nonNull)
+					.distinct()
+					.collect(Collectors.toMap(productId -> productId, 
+							productId -> this.branch(() -> this.catalogCacheService
+									.findProductById(String.valueOf(productId)).getPayload()), 
+							(first, second) -> first, LinkedHashMap::new)));
+		
+		final CompletableFuture<?> productLookups = products.thenCompose(productCalls -> 
+				CompletableFuture.allOf(productCalls.values().toArray(CompletableFuture[]::new)));
+		CompletableFuture.allOf(order, cart, orderItems, payments, productLookups)
+				.exceptionally(e -> null)
+				.join();
+		
+		final Map<String, String> errors = new LinkedHashMap<>();
+		final Map<String, ProductDto> productDtos = new LinkedHashMap<>();
+		Optional.ofNullable(resolve(products, ORDER_ITEMS, new LinkedHashMap<>()))
+				.ifPresent(productCalls -> productCalls.forEach((productId, productCall) -> 
+						Optional.ofNullable(resolve(productCall, PRODUCT + productId, errors))
+								.ifPresent(dto -> productDtos.put(String.valueOf(productId), dto))));
+		
+		return OrderDetailsResponse.builder()
+				.orderDto(resolve(order, ORDER, errors))
+				.cartDto(resolve(cart, CART, errors))
+				.orderItemDtos(resolve(orderItems, ORDER_ITEMS, errors))
+				.paymentDtos(resolve(payments, PAYMENTS, errors))
+				.productDtos(productDtos)
+				.errors(errors)
+				.build();
+	}
+	
+	private <T> CompletableFuture<T> branch(final Supplier<T> supplier) {
+		try {
+			return CompletableFuture.supplyAsync(supplier, this.downstreamExecutor::execute)
+					.orTimeout(this.branchTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private static Integer parseOrderId(final String orderId) {
+		try {
+			return Integer.valueOf(orderId.strip());
+		}
+		catch (NumberFormatException e) {
+			throw new InvalidRequestParameterException(String
+					.format("#### Order id %s is not a number! ####", orderId), e);
+		}
+	}
+	
+	private static <T> T resolve(final CompletableFuture<T> branch, final String section, 
+			final Map<String, String> errors) {
+		try {
+			return branch.getNow(null);
+		}
+		catch (CompletionException e) {
+			errors.put(section, describe(e.getCause()));
+			return null;
+		}
+		catch (RuntimeException e) {
+			errors.put(section, describe(e));
+			return null;
+		}
+	}
+	
+	private static String describe(final Throwable throwable) {
+		final Throwable cause = (throwable instanceof ExecutionException || throwable instanceof CompletionException) 
+				&& throwable.getCause() != null ? throwable.getCause() : throwable;
+		if (cause instanceof TimeoutException)
+			return "#### Timed out! ####";
+		if (cause instanceof RejectedExecutionException)
+			return "#### Service unavailable, try again later! ####";
+		if (cause instanceof FeignException)
+			return String.format("#### Downstream responded with status %d! ####", ((FeignException) cause).status());
+		return Optional.ofNullable(cause.getMessage()).orElse(cause.getClass().getSimpleName());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.orderItem.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,12 +11,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
 import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
 import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,48 +30,72 @@ import lombok.RequiredArgsConstructor;
 public class OrderItemController {
 	
 	private final OrderItemClientService orderItemClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderItemClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderItemClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = { "passthrough=true", "!limit" })
+	public ResponseEntity<StreamingResponseBody> findAllPassthrough() {
+		return this.collectionStreamer.passthrough(this.orderItemClientService::streamAll);
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.orderItemClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.orderItemClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
-	public ResponseEntity<OrderItemDto> findById(
+	public CompletableFuture<ResponseEntity<OrderItemDto>> findById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.orderItemClientService.findById(new OrderItemId(Integer.parseInt(productId), 
-				Integer.parseInt(orderId))).getBody());
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderItemClientService.findById(new OrderItemId(Integer.parseInt(productId), 
+					Integer.parseInt(orderId))).getBody()));
 	}
 	
 	@GetMapping("/find")
-	public ResponseEntity<OrderItemDto> findById(@RequestBody final OrderItemId orderItemId) {
-		return ResponseEntity.ok(this.orderItemClientService.findById(orderItemId).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> findById(@RequestBody final OrderItemId orderItemId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderItemClientService.findById(orderItemId).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<OrderItemDto> save(@RequestBody final OrderItemDto orderItemDto) {
-		return ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> save(@RequestBody final OrderItemDto orderItemDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<OrderItemDto> update(@RequestBody final OrderItemDto orderItemDto) {
-		return ResponseEntity.ok(this.orderItemClientService.update(orderItemDto).getBody());
+	public CompletableFuture<ResponseEntity<OrderItemDto>> update(@RequestBody final OrderItemDto orderItemDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.orderItemClientService.update(orderItemDto).getBody()));
 	}
 	
 	@DeleteMapping("/{orderId}/{productId}")
-	public ResponseEntity<Boolean> deleteById(
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
-		this.orderItemClientService.deleteById(new OrderItemId(Integer.parseInt(orderId), 
-				Integer.parseInt(productId))).getBody();
-		return ResponseEntity.ok(true);
+		return this.controllerExecutor.supply(() -> {
+			this.orderItemClientService.deleteById(new OrderItemId(Integer.parseInt(orderId), 
+					Integer.parseInt(productId))).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	@DeleteMapping("/delete")
-	public ResponseEntity<Boolean> deleteById(@RequestBody final OrderItemId orderItemId) {
-		this.orderItemClientService.deleteById(orderItemId).getBody();
-		return ResponseEntity.ok(true);
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@RequestBody final OrderItemId orderItemId) {
+		return this.controllerExecutor.supply(() -> {
+			this.orderItemClientService.deleteById(orderItemId).getBody();
+			return ResponseEntity.ok(true);
+		});
 	}
 	
 	
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.payment.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,30 +29,50 @@ import lombok.RequiredArgsConstructor;
 public class PaymentController {
 	
 	private final PaymentClientService paymentClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<PaymentPaymentServiceDtoCollectionResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.paymentClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = { "passthrough=true", "!limit" })
+	public ResponseEntity<StreamingResponseBody> findAllPassthrough() {
+		return this.collectionStreamer.passthrough(this.paymentClientService::streamAll);
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.paymentClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.paymentClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{paymentId}")
-	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId) {
-		return ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> findById(@PathVariable("paymentId") final String paymentId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<PaymentDto> save(@RequestBody final PaymentDto paymentDto) {
-		return ResponseEntity.ok(this.paymentClientService.save(paymentDto).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> save(@RequestBody final PaymentDto paymentDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.paymentClientService.save(paymentDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<PaymentDto> update(@RequestBody final PaymentDto paymentDto) {
-		return ResponseEntity.ok(this.paymentClientService.update(paymentDto).getBody());
+	public CompletableFuture<ResponseEntity<PaymentDto>> update(@RequestBody final PaymentDto paymentDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.paymentClientService.update(paymentDto).getBody()));
 	}
 	
 	@DeleteMapping("/{paymentId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
-		return ResponseEntity.ok(this.paymentClientService.deleteById(paymentId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("paymentId") final String paymentId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.paymentClientService.deleteById(paymentId).getBody()));
 	}
 	
 	
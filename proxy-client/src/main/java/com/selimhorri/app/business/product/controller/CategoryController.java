@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
 import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,36 +30,72 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final CatalogCacheService catalogCacheService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> this.catalogCacheService.findAllCategories().toResponseEntity());
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.categoryClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.categoryClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> findById(@PathVariable("categoryId") final String categoryId) {
+		return this.controllerExecutor.supply(() -> this.catalogCacheService.findCategoryById(categoryId).toResponseEntity());
 	}
 	
 	@PostMapping
-	public ResponseEntity<CategoryDto> save(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> save(@RequestBody final CategoryDto categoryDto) {
+		return this.controllerExecutor.supply(() -> {
+			final CategoryDto savedCategoryDto = this.categoryClientService.save(categoryDto).getBody();
+			this.catalogCacheService.evictCategory(idOf(savedCategoryDto));
+			return ResponseEntity.ok(savedCategoryDto);
+		});
 	}
 	
 	@PutMapping
-	public ResponseEntity<CategoryDto> update(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryDto).getBody());
+	public CompletableFuture<ResponseEntity<CategoryDto>> update(@RequestBody final CategoryDto categoryDto) {
+		return this.controllerExecutor.supply(() -> {
+			final CategoryDto updatedCategoryDto = this.categoryClientService.update(categoryDto).getBody();
+			this.catalogCacheService.evictCategory(idOf(categoryDto));
+			return ResponseEntity.ok(updatedCategoryDto);
+		});
 	}
 	
 	@PutMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId, 
+	public CompletableFuture<ResponseEntity<CategoryDto>> update(@PathVariable("categoryId") final String categoryId, 
 			@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody());
+		return this.controllerExecutor.supply(() -> {
+			final CategoryDto updatedCategoryDto = this.categoryClientService.update(categoryId, categoryDto).getBody();
+			this.catalogCacheService.evictCategory(categoryId);
+			return ResponseEntity.ok(updatedCategoryDto);
+		});
 	}
 	
 	@DeleteMapping("/{categoryId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("categoryId") final String categoryId) {
+		return this.controllerExecutor.supply(() -> {
+			final Boolean deleted = this.categoryClientService.deleteById(categoryId).getBody();
+			this.catalogCacheService.evictCategory(categoryId);
+			return ResponseEntity.ok(deleted);
+		});
+	}
+	
+	private static String idOf(final CategoryDto categoryDto) {
+		return (categoryDto == null || categoryDto.getCategoryId() == null) ? null : String.valueOf(categoryDto.getCategoryId());
 	}
 	
 	
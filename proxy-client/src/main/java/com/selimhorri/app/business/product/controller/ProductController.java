@@ -1,5 +1,11 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +14,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.batch.model.BatchRequest;
+import com.selimhorri.app.business.batch.model.BatchResponse;
+import com.selimhorri.app.business.batch.service.BatchService;
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,36 +36,82 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final CatalogCacheService catalogCacheService;
+	private final CollectionStreamer collectionStreamer;
+	private final BatchService batchService;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> this.catalogCacheService.findAllProducts().toResponseEntity());
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.productClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.productClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{productId}")
-	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> findById(@PathVariable("productId") final String productId) {
+		return this.controllerExecutor.supply(() -> this.catalogCacheService.findProductById(productId).toResponseEntity());
+	}
+	
+	@PostMapping("/batch")
+	public CompletableFuture<ResponseEntity<BatchResponse<ProductDto>>> findAllById(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final BatchRequest batchRequest) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.batchService.findAllById(batchRequest.getIds(), 
+					productId -> ResponseEntity.ok(this.catalogCacheService.findProductById(productId).getPayload()))));
 	}
 	
 	@PostMapping
-	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> save(@RequestBody final ProductDto productDto) {
+		return this.controllerExecutor.supply(() -> {
+			final ProductDto savedProductDto = this.productClientService.save(productDto).getBody();
+			this.catalogCacheService.evictProduct(idOf(savedProductDto));
+			return ResponseEntity.ok(savedProductDto);
+		});
 	}
 	
 	@PutMapping
-	public ResponseEntity<ProductDto> update(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productDto).getBody());
+	public CompletableFuture<ResponseEntity<ProductDto>> update(@RequestBody final ProductDto productDto) {
+		return this.controllerExecutor.supply(() -> {
+			final ProductDto updatedProductDto = this.productClientService.update(productDto).getBody();
+			this.catalogCacheService.evictProduct(idOf(productDto));
+			return ResponseEntity.ok(updatedProductDto);
+		});
 	}
 	
 	@PutMapping("/{productId}")
-	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId, 
+	public CompletableFuture<ResponseEntity<ProductDto>> update(@PathVariable("productId") final String productId, 
 			@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody());
+		return this.controllerExecutor.supply(() -> {
+			final ProductDto updatedProductDto = this.productClientService.update(productId, productDto).getBody();
+			this.catalogCacheService.evictProduct(productId);
+			return ResponseEntity.ok(updatedProductDto);
+		});
 	}
 	
 	@DeleteMapping("/{productId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.deleteById(productId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("productId") final String productId) {
+		return this.controllerExecutor.supply(() -> {
+			final Boolean deleted = this.productClientService.deleteById(productId).getBody();
+			this.catalogCacheService.evictProduct(productId);
+			return ResponseEntity.ok(deleted);
+		});
+	}
+	
+	private static String idOf(final ProductDto productDto) {
+		return (productDto == null || productDto.getProductId() == null) ? null : String.valueOf(productDto.getProductId());
 	}
 	
 	
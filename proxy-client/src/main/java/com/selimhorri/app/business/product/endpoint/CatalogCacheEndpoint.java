@@ -0,0 +1,49 @@
+package com.selimhorri.app.business.product.endpoint;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Endpoint(id = "catalogcache")
+@RequiredArgsConstructor
+public class CatalogCacheEndpoint {
+	
+	private final CatalogCacheService catalogCacheService;
+	
+	@ReadOperation
+	public Map<String, Map<String, Object>> describe() {
+		return this.catalogCacheService.describe();
+	}
+	
+	@DeleteOperation
+	public void flush() {
+		this.catalogCacheService.flush();
+	}
+	
+	@DeleteOperation
+	public boolean flush(@Selector final String region) {
+		return this.catalogCacheService.flush(region);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,23 @@
+package com.selimhorri.app.business.product.model;
+
+import org.springframework.http.ResponseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CachedPayload<T> {
+	
+	private final T payload;
+	private final String etag;
+	
+	public ResponseEntity<T> toResponseEntity() {
+		if (this.etag == null)
+			return ResponseEntity.ok(this.payload);
+		return ResponseEntity.ok()
+				.eTag(this.etag)
+				.body(this.payload);
+	}
+	
+}
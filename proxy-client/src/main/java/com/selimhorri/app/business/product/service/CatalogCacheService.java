@@ -0,0 +1,23 @@
+package com.selimhorri.app.business.product.service;
+
+import java.util.Map;
+
+import com.selimhorri.app.business.product.model.CachedPayload;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+public interface CatalogCacheService {
+	
+	CachedPayload<ProductProductServiceCollectionDtoResponse> findAllProducts();
+	CachedPayload<ProductDto> findProductById(final String productId);
+	CachedPayload<CategoryProductServiceCollectionDtoResponse> findAllCategories();
+	CachedPayload<CategoryDto> findCategoryById(final String categoryId);
+	void evictProduct(final String productId);
+	void evictCategory(final String categoryId);
+	Map<String, Map<String, Object>> describe();
+	void flush();
+	boolean flush(final String region);
+	
+}
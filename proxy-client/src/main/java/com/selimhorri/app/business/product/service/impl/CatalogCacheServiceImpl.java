@@ -0,0 +1,171 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.selimhorri.app.business.product.model.CachedPayload;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.etag.ContentEtagGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+	
+	private static final String ALL = "all";
+	private static final String PRODUCTS = "products";
+	private static final String PRODUCT_COLLECTION = "product-collection";
+	private static final String CATEGORIES = "categories";
+	private static final String CATEGORY_COLLECTION = "category-collection";
+	
+	private final ProductClientService productClientService;
+	private final CategoryClientService categoryClientService;
+	private final ContentEtagGenerator contentEtagGenerator;
+	private final Map<String, Cache<String, CachedPayload<?>>> regions = new LinkedHashMap<>();
+	
+	public CatalogCacheServiceImpl(final ProductClientService productClientService, 
+			final CategoryClientService categoryClientService, 
+			final ContentEtagGenerator contentEtagGenerator, 
+			@Value("${app.catalog-cache.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.catalog-cache.time-to-live:PT1M}") final Duration timeToLive, 
+			@Value("${app.catalog-cache.collection-time-to-live:PT30S}") final Duration collectionTimeToLive, 
+			final MeterRegistry meterRegistry) {
+		this.productClientService = productClientService;
+		this.categoryClientService = categoryClientService;
+		this.contentEtagGenerator = contentEtagGenerator;
+		this.regions.put(PRODUCTS, buildRegion(maximumSize, timeToLive));
+		this.regions.put(PRODUCT_COLLECTION, buildRegion(1, collectionTimeToLive));
+		this.regions.put(CATEGORIES, buildRegion(maximumSize, timeToLive));
+		this.regions.put(CATEGORY_COLLECTION, buildRegion(1, collectionTimeToLive));
+		this.regions.forEach((name, region) -> CaffeineCacheMetrics.monitor(meterRegistry, region, "catalog." + name));
+	}
+	
+	@Override
+	public CachedPayload<ProductProductServiceCollectionDtoResponse> findAllProducts() {
+		log.info("**CatalogCache, find all products*\n");
+		return this.read(PRODUCT_COLLECTION, ALL, this.productClientService::findAll);
+	}
+	
+	@Override
+	public CachedPayload<ProductDto> findProductById(final String productId) {
+		log.info("**CatalogCache, find product by id*\n");
+		return this.read(PRODUCTS, productId, () -> this.productClientService.findById(productId));
+	}
+	
+	@Override
+	public CachedPayload<CategoryProductServiceCollectionDtoResponse> findAllCategories() {
+		log.info("**CatalogCache, find all categories*\n");
+		return this.read(CATEGORY_COLLECTION, ALL, this.categoryClientService::findAll);
+	}
+	
+	@Override
+	public CachedPayload<CategoryDto> findCategoryById(final String categoryId) {
+		log.info("**CatalogCache, find category by id*\n");
+		return this.read(CATEGORIES, categoryId, () -> this.categoryClientService.findById(categoryId));
+	}
+	
+	@Override
+	public void evictProduct(final String productId) {
+		log.info("**CatalogCache, evict product*\n");
+		Optional.ofNullable(productId).ifPresentOrElse(this.regions.get(PRODUCTS)::invalidate, 
+				this.regions.get(PRODUCTS)::invalidateAll);
+		this.regions.get(PRODUCT_COLLECTION).invalidateAll();
+		this.regions.get(CATEGORIES).invalidateAll();
+		this.regions.get(CATEGORY_COLLECTION).invalidateAll();
+	}
+	
+	@Override
+	public void evictCategory(final String categoryId) {
+		log.info("**CatalogCache, evict category*\n");
+		Optional.ofNullable(categoryId).ifPresentOrElse(this.regions.get(CATEGORIES)::invalidate, 
+				this.regions.get(CATEGORIES)::invalidateAll);
+		this.regions.get(CATEGORY_COLLECTION).invalidateAll();
+		this.regions.get(PRODUCTS).invalidateAll();
+		this.regions.get(PRODUCT_COLLECTION).invalidateAll();
+	}
+	
+	@Override
+	public Map<String, Map<String, Object>> describe() {
+		final Map<String, Map<String, Object>> description = new LinkedHashMap<>();
+		this.regions.forEach((name, region) -> {
+			final CacheStats stats = region.stats();
+			final Map<String, Object> regionDescription = new LinkedHashMap<>();
+			regionDescription.put("size", region.estimatedSize());
+			regionDescription.put("hitCount", stats.hitCount());
+			regionDescription.put("missCount", stats.missCount());
+			regionDescription.put("hitRate", stats.hitRate());
+			regionDescription.put("evictionCount", stats.evictionCount());
+			regionDescription.put("keys", region.asMap().keySet());
+			description.put(name, regionDescription);
+		});
+		return description;
+	}
+	
+	@Override
+	public void flush() {
+		log.info("**CatalogCache, flush all regions*\n");
+		this.regions.values().forEach(Cache::invalidateAll);
+	}
+	
+	@Override
+	public boolean flush(final String region) {
+		log.info("**CatalogCache, flush region*\n");
+		return Optional.ofNullable(this.regions.get(region))
+				.map(cache -> {
+					cache.invalidateAll();
+					return true;
+				})
+				.orElse(false);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> CachedPayload<T> read(final String region, final String key, 
+			final Supplier<ResponseEntity<T>> loader) {
+		final CachedPayload<?> cached = this.regions.get(region).get(key, k -> {
+			log.info("**CatalogCache, miss, loading from product service*\n");
+			final T payload = loader.get().getBody();
+			return (payload == null) ? null : new CachedPayload<>(payload, this.contentEtagGenerator.generate(payload));
+		});
+		return (cached == null) ? new CachedPayload<>(null, null) : (CachedPayload<T>) cached;
+	}
+	
+	private static Cache<String, CachedPayload<?>> buildRegion(final long maximumSize, final Duration timeToLive) {
+		return Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.recordStats()
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
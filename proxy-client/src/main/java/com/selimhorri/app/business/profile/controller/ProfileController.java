@@ -0,0 +1,43 @@
+package com.selimhorri.app.business.profile.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.profile.model.response.ProfileResponse;
+import com.selimhorri.app.business.profile.service.ProfileService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+public class ProfileController {
+	
+	private final ProfileService profileService;
+	private final ControllerExecutor controllerExecutor;
+	
+	@GetMapping("/profile")
+	public CompletableFuture<ResponseEntity<ProfileResponse>> findProfile(@AuthenticationPrincipal final UserDetails userDetails) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.profileService.findByUsername(userDetails.getUsername())));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
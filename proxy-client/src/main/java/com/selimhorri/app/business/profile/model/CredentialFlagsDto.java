@@ -0,0 +1,27 @@
+package com.selimhorri.app.business.profile.model;
+
+import java.io.Serializable;
+
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CredentialFlagsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String username;
+	private RoleBasedAuthority roleBasedAuthority;
+	private Boolean isEnabled;
+	private Boolean isAccountNonExpired;
+	private Boolean isAccountNonLocked;
+	private Boolean isCredentialsNonExpired;
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.business.profile.model.response;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.profile.model.CredentialFlagsDto;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.UserDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonInclude(Include.NON_NULL)
+public class ProfileResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("user")
+	private UserDto userDto;
+	
+	@JsonProperty("addresses")
+	private Collection<AddressDto> addressDtos;
+	
+	@JsonProperty("credential")
+	private CredentialFlagsDto credentialFlagsDto;
+	
+	@JsonProperty("favourites")
+	private Collection<FavouriteDto> favouriteDtos;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<String> omitted;
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.profile.service;
+
+import com.selimhorri.app.business.profile.model.response.ProfileResponse;
+
+public interface ProfileService {
+	
+	ProfileResponse findByUsername(final String username);
+	
+}
@@ -0,0 +1,188 @@
+package com.selimhorri.app.business.profile.service.impl;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.profile.model.CredentialFlagsDto;
+import com.selimhorri.app.business.profile.model.response.ProfileResponse;
+import com.selimhorri.app.business.profile.service.ProfileService;
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.service.AddressClientService;
+import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.config.executor.DownstreamExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class ProfileServiceImpl implements ProfileService {
+	
+	private static final String USER = "user";
+	private static final String ADDRESSES = "addresses";
+	private static final String CREDENTIAL = "credential";
+	private static final String FAVOURITES = "favourites";
+	
+	private final UserClientService userClientService;
+	private final AddressClientService addressClientService;
+	private final CredentialClientService credentialClientService;
+	private final FavouriteClientService favouriteClientService;
+	private final DownstreamExecutor downstreamExecutor;
+	private final long latencyBudgetNanos;
+	
+	public ProfileServiceImpl(final UserClientService userClientService, 
+			final AddressClientService addressClientService, 
+			final CredentialClientService credentialClientService, 
+			final FavouriteClientService favouriteClientService, 
+			final DownstreamExecutor downstreamExecutor, 
+			@Value("${app.profile.latency-budget:PT1S}") final Duration latencyBudget) {
+		this.userClientService = userClientService;
+		this.addressClientService = addressClientService;
+		this.credentialClientService = credentialClientService;
+		this.favouriteClientService = favouriteClientService;
+		this.downstreamExecutor = downstreamExecutor;
+		this.latencyBudgetNanos = latencyBudget.toNanos();
+	}
+	
+	@Override
+	public ProfileResponse findByUsername(final String username) {
+		
+		log.info("**ProfileService, compose profile*\n");
+		final long deadline = System.nanoTime() + this.latencyBudgetNanos;
+		
+		final CompletableFuture<UserDto> user = this.branch(() -> this.userClientService.findByUsername(username).getBody());
+		final CompletableFuture<CredentialDto> credential = this.branch(() -> 
+				this.credentialClientService.findByUsername(username).getBody());
+		final CompletableFuture<Collection<AddressDto>> allAddresses = this.branch(() -> 
+				this.addressClientService.findAll().getBody().getCollection());
+		final CompletableFuture<Collection<FavouriteDto>> allFavourites = this.branch(() -> 
+				this.favouriteClientService.findAll().getBody().getCollection());
+		
+		try {
+			CompletableFuture.allOf(user, credential, allAddresses, allFavourites)
+					.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			log.info("**ProfileService, latency budget exhausted, omitting late sections*\n");
+		}
+		catch (ExecutionException e) {
+			log.info("**ProfileService, a profile section failed*\n");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		final Set<String> omitted = new LinkedHashSet<>();
+		final UserDto userDto = resolve(user, USER, omitted);
+		final CredentialDto credentialDto = resolve(credential, CREDENTIAL, omitted);
+		final Integer userId = Optional.ofNullable(userDto)
+				.map(UserDto::getUserId)
+				.or(() -> Optional.ofNullable(credentialDto)
+						.map(CredentialDto::getUserDto)
+						.map(UserDto::getUserId))
+				.orElse(null);
+		
+		final List<AddressDto> addressDtos = Optional.ofNullable(resolve(allAddresses, ADDRESSES, omitted))
+				.filter(addresses -> userId != null)
+				.map(addresses -> addresses.stream()
+						.filter(addressDto -> addressDto.getUserDto() != null 
+								&& userId.equals(addressDto.getUserDto().getUserId()))
+						.collect(Collectors.toUnmodifiableList()))
+				.orElse(null);
+		final List<FavouriteDto> favouriteDtos = Optional.ofNullable(resolve(allFavourites, FAVOURITES, omitted))
+				.filter(favourites -> userId != null)
+				.map(favourites -> favourites.stream()
+						.filter(favouriteDto -> userId.equals(favouriteDto.getUserId()))
+						.collect(Collectors.toUnmodifiableList()))
+				.orElse(null);
+		if (addressDtos == null)
+			omitted.add(ADDRESSES);
+		if (favouriteDtos == null)
+			omitted.add(FAVOURITES);
+		
+		return ProfileResponse.builder()
+				.userDto(Optional.ofNullable(userDto)
+						.map(ProfileServiceImpl::withoutCredential)
+						.orElse(null))
+				.addressDtos(addressDtos)
+				.credentialFlagsDto(Optional.ofNullable(credentialDto)
+						.map(ProfileServiceImpl::toFlags)
+						.orElse(null))
+				.favouriteDtos(favouriteDtos)
+				.omitted(omitted)
+				.build();
+	}
+	
+	private <T> CompletableFuture<T> branch(final Supplier<T> supplier) {
+		try {
+			return CompletableFuture.supplyAsync(supplier, this.downstreamExecutor::execute);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private static <T> T resolve(final CompletableFuture<T> branch, final String section, final Set<String> omitted) {
+		if (branch.isDone() && !branch.isCompletedExceptionally()) {
+			final T value = branch.join();
+			if (value != null)
+				return value;
+		}
+		branch.cancel(true);
+		omitted.add(section);
+		return null;
+	}
+	
+	private static UserDto withoutCredential(final UserDto userDto) {
+		return UserDto.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.build();
+	}
+	
+	private static CredentialFlagsDto toFlags(final CredentialDto credentialDto) {
+		return CredentialFlagsDto.builder()
+				.username(credentialDto.getUsername())
+				.roleBasedAuthority(credentialDto.getRoleBasedAuthority())
+				.isEnabled(credentialDto.getIsEnabled())
+				.isAccountNonExpired(credentialDto.getIsAccountNonExpired())
+				.isAccountNonLocked(credentialDto.getIsAccountNonLocked())
+				.isCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
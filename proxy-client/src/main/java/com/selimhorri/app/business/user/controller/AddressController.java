@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.user.model.AddressDto;
 import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.AddressClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,35 +29,50 @@ import lombok.RequiredArgsConstructor;
 public class AddressController {
 	
 	private final AddressClientService addressClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.addressClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<AddressUserServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.addressClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.addressClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{addressId}")
-	public ResponseEntity<AddressDto> findById(@PathVariable("addressId") final String addressId) {
-		return ResponseEntity.ok(this.addressClientService.findById(addressId).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> findById(@PathVariable("addressId") final String addressId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.findById(addressId).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<AddressDto> save(@RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.save(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> save(@RequestBody final AddressDto addressDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.save(addressDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<AddressDto> update(@RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.update(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> update(@RequestBody final AddressDto addressDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.update(addressDto).getBody()));
 	}
 	
 	@PutMapping("/{addressId}")
-	public ResponseEntity<AddressDto> update(@PathVariable("addressId") final String addressId, @RequestBody final AddressDto addressDto) {
-		return ResponseEntity.ok(this.addressClientService.update(addressDto).getBody());
+	public CompletableFuture<ResponseEntity<AddressDto>> update(@PathVariable("addressId") final String addressId, @RequestBody final AddressDto addressDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.update(addressDto).getBody()));
 	}
 	
 	@DeleteMapping("/{addressId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("addressId") final String addressId) {
-		return ResponseEntity.ok(this.addressClientService.deleteById(addressId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("addressId") final String addressId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.addressClientService.deleteById(addressId).getBody()));
 	}
 	
 	
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,40 +30,77 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.credentialClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<CredentialUserServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.credentialClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.credentialClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.credentialClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{credentialId}")
-	public ResponseEntity<CredentialDto> findById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.findById(credentialId).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> findById(@PathVariable("credentialId") final String credentialId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.credentialClientService.findById(credentialId).getBody()));
 	}
 	
 	@GetMapping("/username/{username}")
-	public ResponseEntity<CredentialDto> findByCredentialname(@PathVariable("username") final String username) {
-		return ResponseEntity.ok(this.credentialClientService.findByUsername(username).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> findByCredentialname(@PathVariable("username") final String username) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.credentialClientService.findByUsername(username).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<CredentialDto> save(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> save(@RequestBody final CredentialDto credentialDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> update(@RequestBody final CredentialDto credentialDto) {
+		return this.controllerExecutor.supply(() -> {
+			final var updatedCredentialDto = this.credentialClientService.update(credentialDto).getBody();
+			this.evict(credentialDto);
+			return ResponseEntity.ok(updatedCredentialDto);
+		});
 	}
 	
 	@PutMapping("/{credentialId}")
-	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+	public CompletableFuture<ResponseEntity<CredentialDto>> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
+		return this.controllerExecutor.supply(() -> {
+			final var updatedCredentialDto = this.credentialClientService.update(credentialDto).getBody();
+			this.userDetailsCacheService.evictByCredentialId(credentialId);
+			this.evict(credentialDto);
+			return ResponseEntity.ok(updatedCredentialDto);
+		});
 	}
 	
 	@DeleteMapping("/{credentialId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("credentialId") final String credentialId) {
+		return this.controllerExecutor.supply(() -> {
+			final var deleted = this.credentialClientService.deleteById(credentialId).getBody();
+			this.userDetailsCacheService.evictByCredentialId(credentialId);
+			return ResponseEntity.ok(deleted);
+		});
+	}
+	
+	private void evict(final CredentialDto credentialDto) {
+		if (credentialDto == null)
+			return;
+		if (credentialDto.getCredentialId() != null)
+			this.userDetailsCacheService.evictByCredentialId(String.valueOf(credentialDto.getCredentialId()));
+		this.userDetailsCacheService.evictByUsername(credentialDto.getUsername());
 	}
 	
 	
@@ -1,5 +1,11 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +14,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.business.batch.model.BatchRequest;
+import com.selimhorri.app.business.batch.model.BatchResponse;
+import com.selimhorri.app.business.batch.service.BatchService;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,40 +36,87 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 	
 	private final UserClientService userClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final CollectionStreamer collectionStreamer;
+	private final BatchService batchService;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.userClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.userClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.userClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{userId}")
-	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.findById(userId).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> findById(@PathVariable("userId") final String userId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.userClientService.findById(userId).getBody()));
+	}
+	
+	@PostMapping("/batch")
+	public CompletableFuture<ResponseEntity<BatchResponse<UserDto>>> findAllById(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final BatchRequest batchRequest) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.batchService.findAllById(batchRequest.getIds(), this.userClientService::findById)));
 	}
 	
 	@GetMapping("/username/{username}")
-	public ResponseEntity<UserDto> findByUsername(@PathVariable("username") final String username) {
-		return ResponseEntity.ok(this.userClientService.findByUsername(username).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> findByUsername(@PathVariable("username") final String username) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.userClientService.findByUsername(username).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<UserDto> save(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.save(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> save(@RequestBody final UserDto userDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.userClientService.save(userDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<UserDto> update(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> update(@RequestBody final UserDto userDto) {
+		return this.controllerExecutor.supply(() -> {
+			final var updatedUserDto = this.userClientService.update(userDto).getBody();
+			this.evict(userDto);
+			return ResponseEntity.ok(updatedUserDto);
+		});
 	}
 	
 	@PutMapping("/{userId}")
-	public ResponseEntity<UserDto> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+	public CompletableFuture<ResponseEntity<UserDto>> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
+		return this.controllerExecutor.supply(() -> {
+			final var updatedUserDto = this.userClientService.update(userDto).getBody();
+			this.userDetailsCacheService.evictByUserId(userId);
+			this.evict(userDto);
+			return ResponseEntity.ok(updatedUserDto);
+		});
 	}
 	
 	@DeleteMapping("/{userId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("userId") final String userId) {
+		return this.controllerExecutor.supply(() -> {
+			final var deleted = this.userClientService.deleteById(userId).getBody();
+			this.userDetailsCacheService.evictByUserId(userId);
+			return ResponseEntity.ok(deleted);
+		});
+	}
+	
+	private void evict(final UserDto userDto) {
+		if (userDto == null)
+			return;
+		if (userDto.getUserId() != null)
+			this.userDetailsCacheService.evictByUserId(String.valueOf(userDto.getUserId()));
+		if (userDto.getCredentialDto() != null)
+			this.userDetailsCacheService.evictByUsername(userDto.getCredentialDto().getUsername());
 	}
 	
 	
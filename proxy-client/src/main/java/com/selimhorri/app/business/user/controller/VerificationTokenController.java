@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.user.model.VerificationTokenDto;
 import com.selimhorri.app.business.user.model.response.VerificationUserTokenServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.VerificationTokenClientService;
+import com.selimhorri.app.config.executor.ControllerExecutor;
+import com.selimhorri.app.config.stream.CollectionStreamer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,35 +29,50 @@ import lombok.RequiredArgsConstructor;
 public class VerificationTokenController {
 	
 	private final VerificationTokenClientService verificationTokenClientService;
+	private final CollectionStreamer collectionStreamer;
+	private final ControllerExecutor controllerExecutor;
 	
 	@GetMapping
-	public ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.verificationTokenClientService.findAll().getBody());
+	public CompletableFuture<ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse>> findAll() {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.findAll().getBody()));
+	}
+	
+	@GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> findPage(@RequestParam("limit") final int limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.page(this.verificationTokenClientService::streamAll, limit, cursor);
+	}
+	
+	@GetMapping(produces = CollectionStreamer.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "cursor", required = false) final String cursor) {
+		return this.collectionStreamer.ndjson(this.verificationTokenClientService::streamAll, limit, cursor);
 	}
 	
 	@GetMapping("/{verificationTokenId}")
-	public ResponseEntity<VerificationTokenDto> findById(@PathVariable("verificationTokenId") final String verificationTokenId) {
-		return ResponseEntity.ok(this.verificationTokenClientService.findById(verificationTokenId).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> findById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.findById(verificationTokenId).getBody()));
 	}
 	
 	@PostMapping
-	public ResponseEntity<VerificationTokenDto> save(@RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.save(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> save(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.save(verificationTokenDto).getBody()));
 	}
 	
 	@PutMapping
-	public ResponseEntity<VerificationTokenDto> update(@RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> update(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody()));
 	}
 	
 	@PutMapping("/{verificationTokenId}")
-	public ResponseEntity<VerificationTokenDto> update(@PathVariable("verificationTokenId") final String verificationTokenId, @RequestBody final VerificationTokenDto verificationTokenDto) {
-		return ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody());
+	public CompletableFuture<ResponseEntity<VerificationTokenDto>> update(@PathVariable("verificationTokenId") final String verificationTokenId, @RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.update(verificationTokenDto).getBody()));
 	}
 	
 	@DeleteMapping("/{verificationTokenId}")
-	public ResponseEntity<Boolean> deleteById(@PathVariable("verificationTokenId") final String verificationTokenId) {
-		return ResponseEntity.ok(this.verificationTokenClientService.deleteById(verificationTokenId).getBody());
+	public CompletableFuture<ResponseEntity<Boolean>> deleteById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return this.controllerExecutor.supply(() -> ResponseEntity.ok(this.verificationTokenClientService.deleteById(verificationTokenId).getBody()));
 	}
 	
 	
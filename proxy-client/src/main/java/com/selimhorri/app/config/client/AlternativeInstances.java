@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.client;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+class AlternativeInstances {
+	
+	private final LoadBalancerClientFactory loadBalancerClientFactory;
+	
+	AlternativeInstances(final LoadBalancerClientFactory loadBalancerClientFactory) {
+		this.loadBalancerClientFactory = loadBalancerClientFactory;
+	}
+	
+	boolean exist(final String service) {
+		final List<ServiceInstance> instances = this.instances(service);
+		return instances != null && instances.size() > 1;
+	}
+	
+	private List<ServiceInstance> instances(final String service) {
+		final ServiceInstanceListSupplier supplier = this.loadBalancerClientFactory
+				.getInstance(service, ServiceInstanceListSupplier.class);
+		return (supplier == null) ? null : supplier.get().blockFirst();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
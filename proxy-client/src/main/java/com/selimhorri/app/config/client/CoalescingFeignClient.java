@@ -0,0 +1,171 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class CoalescingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final List<String> pathPatterns;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final Counter leaderRequests;
+	private final Counter coalescedRequests;
+	
+	public CoalescingFeignClient(final Client delegate, final List<String> pathPatterns, 
+			final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.pathPatterns = List.copyOf(pathPatterns);
+		this.leaderRequests = Counter.builder("feign.coalescing.requests")
+				.description("Coalescable requests that went downstream")
+				.tag("result", "leader")
+				.register(meterRegistry);
+		this.coalescedRequests = Counter.builder("feign.coalescing.requests")
+				.description("Coalescable requests that shared an in-flight downstream call")
+				.tag("result", "coalesced")
+				.register(meterRegistry);
+		Gauge.builder("feign.coalescing.ratio", this, CoalescingFeignClient::coalescingRatio)
+				.description("Share of coalescable requests served by an in-flight downstream call")
+				.register(meterRegistry);
+		Gauge.builder("feign.coalescing.in-flight", this.inFlight, Map::size)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		if (!this.isCoalescable(request))
+			return this.delegate.execute(request, options);
+		
+		final String key = request.url();
+		final CompletableFuture<BufferedResponse> leader = new CompletableFuture<>();
+		final CompletableFuture<BufferedResponse> inFlightCall = this.inFlight.putIfAbsent(key, leader);
+		
+		if (inFlightCall != null) {
+			this.coalescedRequests.increment();
+			return await(inFlightCall, options).toResponse(request);
+		}
+		
+		this.leaderRequests.increment();
+		try {
+			final BufferedResponse bufferedResponse = BufferedResponse.of(this.delegate.execute(request, options));
+			leader.complete(bufferedResponse);
+			return bufferedResponse.toResponse(request);
+		}
+		catch (IOException | RuntimeException e) {
+			leader.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.inFlight.remove(key, leader);
+		}
+	}
+	
+	private boolean isCoalescable(final Request request) {
+		if (request.httpMethod() != HttpMethod.GET)
+			return false;
+		final String path = URI.create(request.url()).getRawPath();
+		return path != null && this.pathPatterns.stream()
+				.anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+	}
+	
+	private double coalescingRatio() {
+		final double coalesced = this.coalescedRequests.count();
+		final double total = coalesced + this.leaderRequests.count();
+		return (total == 0) ? 0.0 : coalesced / total;
+	}
+	
+	private static BufferedResponse await(final CompletableFuture<BufferedResponse> inFlightCall, 
+			final Options options) throws IOException {
+		try {
+			return inFlightCall.get(options.readTimeoutMillis() + (long) options.connectTimeoutMillis(), 
+					TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+		}
+		catch (TimeoutException e) {
+			throw new SocketTimeoutException("Timed out waiting for a coalesced request");
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IOException(e.getCause());
+		}
+	}
+	
+	private static final class BufferedResponse {
+		
+		private final int status;
+		private final String reason;
+		private final Map<String, Collection<String>> headers;
+		private final byte[] body;
+		
+		private BufferedResponse(final int status, final String reason, 
+				final Map<String, Collection<String>> headers, final byte[] body) {
+			this.status = status;
+			this.reason = reason;
+			this.headers = headers;
+			this.body = body;
+		}
+		
+		private static BufferedResponse of(final Response response) throws IOException {
+			try (response) {
+				final byte[] body = (response.body() != null) 
+						? Util.toByteArray(response.body().asInputStream()) 
+						: null;
+				return new BufferedResponse(response.status(), response.reason(), response.headers(), body);
+			}
+		}
+		
+		private Response toResponse(final Request request) {
+			return Response.builder()
+					.status(this.status)
+					.reason(this.reason)
+					.headers(this.headers)
+					.request(request)
+					.body(this.body)
+					.build();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
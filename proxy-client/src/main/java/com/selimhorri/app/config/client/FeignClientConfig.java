@@ -0,0 +1,73 @@
+package com.selimhorri.app.config.client;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.config.executor.HedgingExecutor;
+
+import feign.Client;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties({ FeignClientPoolProperties.class, FeignHedgingProperties.class, 
+		FeignRetryProperties.class })
+public class FeignClientConfig {
+	
+	@Value("${app.feign.coalescing.enabled:true}")
+	private boolean coalescingEnabled;
+	
+	@Value("${app.feign.coalescing.paths:}")
+	private List<String> coalescingPaths;
+	
+	@Bean
+	public Client feignClient(final FeignConnectionPools connectionPools, 
+			final LoadBalancerClient loadBalancerClient, 
+			final LoadBalancerProperties loadBalancerProperties, 
+			final LoadBalancerClientFactory loadBalancerClientFactory, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, 
+			final BulkheadRegistry bulkheadRegistry, 
+			final FeignHedgingProperties hedgingProperties, 
+			final FeignRetryProperties retryProperties, 
+			final HedgingExecutor hedgingExecutor, 
+			final MeterRegistry meterRegistry) {
+		
+		final Client loadBalancedClient = new FeignBlockingLoadBalancerClient(new PooledFeignClient(connectionPools), 
+				loadBalancerClient, loadBalancerProperties, loadBalancerClientFactory);
+		final Client hedgingClient = (hedgingProperties.isEnabled() && !hedgingProperties.getServices().isEmpty()) 
+				? new HedgingFeignClient(loadBalancedClient, loadBalancerClientFactory, hedgingExecutor::execute, 
+						hedgingProperties, meterRegistry) 
+				: loadBalancedClient;
+		final Client retryingClient = (retryProperties.isEnabled()) 
+				? new RetryingFeignClient(hedgingClient, loadBalancerClientFactory, retryProperties, meterRegistry) 
+				: hedgingClient;
+		
+		final Client resilientClient = new ResilientFeignClient(retryingClient, circuitBreakerRegistry, bulkheadRegistry);
+		
+		if (!this.coalescingEnabled || this.coalescingPaths.isEmpty())
+			return resilientClient;
+		return new CoalescingFeignClient(resilientClient, this.coalescingPaths, meterRegistry);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
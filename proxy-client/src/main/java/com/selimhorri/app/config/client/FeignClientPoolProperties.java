@@ -0,0 +1,56 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "app.feign.pool")
+public class FeignClientPoolProperties {
+	
+	private Pool defaults = new Pool(100, 50, Duration.ofSeconds(1), Duration.ofMinutes(5), Duration.ofSeconds(30));
+	private Map<String, Pool> services = new HashMap<>();
+	
+	public Pool forPool(final String poolName) {
+		final Pool pool = Optional.ofNullable(this.services.get(poolName)).orElseGet(Pool::new);
+		return new Pool(
+				Optional.ofNullable(pool.getMaxConnections()).orElse(this.defaults.getMaxConnections()),
+				Optional.ofNullable(pool.getMaxConnectionsPerRoute()).orElse(this.defaults.getMaxConnectionsPerRoute()),
+				Optional.ofNullable(pool.getConnectionRequestTimeout()).orElse(this.defaults.getConnectionRequestTimeout()),
+				Optional.ofNullable(pool.getTimeToLive()).orElse(this.defaults.getTimeToLive()),
+				Optional.ofNullable(pool.getIdleTimeout()).orElse(this.defaults.getIdleTimeout()));
+	}
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Pool {
+		
+		private Integer maxConnections;
+		private Integer maxConnectionsPerRoute;
+		private Duration connectionRequestTimeout;
+		private Duration timeToLive;
+		private Duration idleTimeout;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
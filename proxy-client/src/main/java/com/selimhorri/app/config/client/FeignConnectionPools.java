@@ -0,0 +1,78 @@
+package com.selimhorri.app.config.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FeignConnectionPools implements DisposableBean {
+	
+	private static final String CLIENT_NAME = "feign";
+	
+	private final FeignClientPoolProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+	
+	public CloseableHttpClient forService(final String service) {
+		return this.httpClients.computeIfAbsent(service, this::createHttpClient);
+	}
+	
+	private CloseableHttpClient createHttpClient(final String poolName) {
+		
+		final FeignClientPoolProperties.Pool pool = this.properties.forPool(poolName);
+		log.info("**FeignConnectionPools, creating connection pool for {} with {} connections*\n", 
+				poolName, pool.getMaxConnections());
+		
+		final InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(
+				CLIENT_NAME, poolName, pool.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS, this.meterRegistry);
+		connectionManager.setMaxTotal(pool.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(pool.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity(2000);
+		
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout((int) pool.getConnectionRequestTimeout().toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(pool.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.disableRedirectHandling()
+				.disableCookieManagement()
+				.useSystemProperties()
+				.build();
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		for (final CloseableHttpClient httpClient : this.httpClients.values())
+			httpClient.close();
+		this.httpClients.clear();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
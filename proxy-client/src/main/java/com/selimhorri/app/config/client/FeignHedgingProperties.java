@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.feign.hedging")
+public class FeignHedgingProperties {
+	
+	private boolean enabled = false;
+	private List<String> services = new ArrayList<>();
+	private double delayPercentile = 0.95;
+	private long minimumSamples = 100;
+	private Duration minimumDelay = Duration.ofMillis(10);
+	private Duration maximumDelay = Duration.ofMillis(500);
+	private double budgetRatio = 0.1;
+	private double budgetMaximumTokens = 10;
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import feign.Request.HttpMethod;
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.feign.retry")
+public class FeignRetryProperties {
+	
+	private boolean enabled = false;
+	private int maximumRetries = 1;
+	private List<HttpMethod> methods = new ArrayList<>(List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS));
+	private List<Integer> statuses = new ArrayList<>(List.of(502, 503, 504));
+	private Duration initialBackoff = Duration.ofMillis(50);
+	private Duration maximumBackoff = Duration.ofSeconds(1);
+	private double budgetRatio = 0.1;
+	private double budgetMaximumTokens = 10;
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.client;
+
+import java.net.URI;
+
+import feign.Request;
+import feign.Target;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class FeignTargets {
+	
+	static String serviceName(final Request request) {
+		final Target<?> target = (request.requestTemplate() != null) ? request.requestTemplate().feignTarget() : null;
+		if (target != null && target.name() != null)
+			return target.name().toUpperCase();
+		return URI.create(request.url()).getHost().toUpperCase();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,254 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class HedgingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final AlternativeInstances alternativeInstances;
+	private final Executor executor;
+	private final FeignHedgingProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, ServiceHedge> serviceHedges = new ConcurrentHashMap<>();
+	
+	public HedgingFeignClient(final Client delegate, final LoadBalancerClientFactory loadBalancerClientFactory, 
+			final Executor executor, final FeignHedgingProperties properties, final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.alternativeInstances = new AlternativeInstances(loadBalancerClientFactory);
+		this.executor = executor;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		final String service = FeignTargets.serviceName(request);
+		if (!this.isHedgeable(request, service))
+			return this.delegate.execute(request, options);
+		
+		final ServiceHedge serviceHedge = this.serviceHedges.computeIfAbsent(service, this::newServiceHedge);
+		serviceHedge.budget.recordRequest();
+		
+		final long deadline = System.nanoTime() 
+				+ TimeUnit.MILLISECONDS.toNanos(options.readTimeoutMillis() + (long) options.connectTimeoutMillis());
+		final Set<String> attempted = InstanceExclusions.attempted();
+		final CompletableFuture<Response> primary;
+		try {
+			primary = this.attempt(request, options, serviceHedge, attempted);
+		}
+		catch (RejectedExecutionException e) {
+			return this.delegate.execute(request, options);
+		}
+		
+		try {
+			return primary.get(serviceHedge.delayNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			return await(this.hedge(request, options, serviceHedge, primary, attempted), deadline);
+		}
+		catch (InterruptedException e) {
+			primary.thenAccept(Response::close);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a hedged request");
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+	
+	private boolean isHedgeable(final Request request, final String service) {
+		return (request.httpMethod() == HttpMethod.GET || request.httpMethod() == HttpMethod.HEAD) 
+				&& this.properties.getServices().contains(service);
+	}
+	
+	private CompletableFuture<Response> hedge(final Request request, final Options options, 
+			final ServiceHedge serviceHedge, final CompletableFuture<Response> primary, final Set<String> attempted) {
+		
+		if (!this.alternativeInstances.exist(serviceHedge.service)) {
+			serviceHedge.noAlternative.increment();
+			return primary;
+		}
+		if (!serviceHedge.budget.tryAcquire()) {
+			serviceHedge.budgetExhausted.increment();
+			return primary;
+		}
+		
+		log.info("**HedgingFeignClient, hedging {} away from {}*\n", serviceHedge.service, attempted);
+		final CompletableFuture<Response> hedged;
+		try {
+			hedged = this.attempt(request, options, serviceHedge, attempted);
+		}
+		catch (RejectedExecutionException e) {
+			return primary;
+		}
+		
+		final CompletableFuture<Response> winner = new CompletableFuture<>();
+		final AtomicInteger pending = new AtomicInteger(2);
+		primary.whenComplete((response, failure) -> {
+			if (settle(winner, pending, response, failure))
+				serviceHedge.hedgesLost.increment();
+		});
+		hedged.whenComplete((response, failure) -> {
+			if (settle(winner, pending, response, failure))
+				serviceHedge.hedgesWon.increment();
+		});
+		return winner;
+	}
+	
+	private CompletableFuture<Response> attempt(final Request request, final Options options, 
+			final ServiceHedge serviceHedge, final Set<String> attempted) {
+		return CompletableFuture.supplyAsync(() -> {
+			final long start = System.nanoTime();
+			try {
+				return InstanceExclusions.execute(this.delegate, request, options, attempted);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			finally {
+				serviceHedge.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}, this.executor);
+	}
+	
+	private ServiceHedge newServiceHedge(final String service) {
+		return new ServiceHedge(service, this.properties, this.meterRegistry);
+	}
+	
+	private static boolean settle(final CompletableFuture<Response> winner, final AtomicInteger pending, 
+			final Response response, final Throwable failure) {
+		final boolean acceptable = failure == null && response.status() < 500;
+		final boolean last = pending.decrementAndGet() == 0;
+		if (acceptable || last) {
+			final boolean won = (failure == null) ? winner.complete(response) : winner.completeExceptionally(failure);
+			if (won)
+				return true;
+		}
+		if (response != null)
+			response.close();
+		return false;
+	}
+	
+	private static Response await(final CompletableFuture<Response> call, final long deadline) throws IOException {
+		try {
+			return call.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {
+			call.thenAccept(Response::close);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a hedged request");
+		}
+		catch (TimeoutException e) {
+			call.thenAccept(Response::close);
+			throw new SocketTimeoutException("Timed out waiting for a hedged request");
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+	
+	private static IOException unwrap(final ExecutionException e) {
+		final Throwable cause = e.getCause();
+		if (cause instanceof UncheckedIOException)
+			return ((UncheckedIOException) cause).getCause();
+		if (cause instanceof RuntimeException)
+			throw (RuntimeException) cause;
+		return new IOException(cause);
+	}
+	
+	private static final class ServiceHedge {
+		
+		private final String service;
+		private final RequestBudget budget;
+		private final Timer latency;
+		private final Counter hedgesWon;
+		private final Counter hedgesLost;
+		private final Counter budgetExhausted;
+		private final Counter noAlternative;
+		private final long minimumSamples;
+		private final long minimumDelayNanos;
+		private final long maximumDelayNanos;
+		
+		private ServiceHedge(final String service, final FeignHedgingProperties properties, 
+				final MeterRegistry meterRegistry) {
+			this.service = service;
+			this.budget = new RequestBudget(properties.getBudgetRatio(), properties.getBudgetMaximumTokens());
+			this.latency = Timer.builder("feign.hedging.latency")
+					.description("Latency of hedgeable downstream attempts")
+					.tag("service", service)
+					.publishPercentiles(properties.getDelayPercentile())
+					.register(meterRegistry);
+			this.hedgesWon = hedges(service, "won", meterRegistry);
+			this.hedgesLost = hedges(service, "lost", meterRegistry);
+			this.budgetExhausted = hedges(service, "budget_exhausted", meterRegistry);
+			this.noAlternative = hedges(service, "no_alternative", meterRegistry);
+			Gauge.builder("feign.hedging.budget.tokens", this.budget, RequestBudget::available)
+					.tag("service", service)
+					.register(meterRegistry);
+			this.minimumSamples = properties.getMinimumSamples();
+			this.minimumDelayNanos = properties.getMinimumDelay().toNanos();
+			this.maximumDelayNanos = properties.getMaximumDelay().toNanos();
+		}
+		
+		private static Counter hedges(final String service, final String outcome, final MeterRegistry meterRegistry) {
+			return Counter.builder("feign.hedging.hedges")
+					.description("Hedged downstream requests by outcome")
+					.tag("service", service)
+					.tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+		
+		private long delayNanos() {
+			final HistogramSnapshot snapshot = this.latency.takeSnapshot();
+			final ValueAtPercentile[] percentiles = snapshot.percentileValues();
+			if (snapshot.count() < this.minimumSamples || percentiles.length == 0)
+				return this.maximumDelayNanos;
+			final long observed = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+			return Math.max(this.minimumDelayNanos, Math.min(observed, this.maximumDelayNanos));
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,59 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.selimhorri.app.config.loadbalancer.ExcludedInstances;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class InstanceExclusions {
+	
+	static Set<String> attempted() {
+		final Set<String> recording = ExcludedInstances.recording();
+		return (recording != null) ? recording : ConcurrentHashMap.newKeySet();
+	}
+	
+	static Response execute(final Client delegate, final Request request, final Options options, 
+			final Set<String> attempted) throws IOException {
+		final Request attempt = (attempted.isEmpty()) ? request : excluding(request, attempted);
+		final Set<String> previous = ExcludedInstances.recordChosenInto(attempted);
+		try {
+			return delegate.execute(attempt, options);
+		}
+		finally {
+			ExcludedInstances.restore(previous);
+		}
+	}
+	
+	static Request stripped(final Request request) {
+		if (request.headers().keySet().stream().noneMatch(ExcludedInstances.HEADER::equalsIgnoreCase))
+			return request;
+		final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+		headers.keySet().removeIf(ExcludedInstances.HEADER::equalsIgnoreCase);
+		return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), 
+				request.requestTemplate());
+	}
+	
+	private static Request excluding(final Request request, final Set<String> attempted) {
+		final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+		headers.keySet().removeIf(ExcludedInstances.HEADER::equalsIgnoreCase);
+		headers.put(ExcludedInstances.HEADER, List.of(ExcludedInstances.headerValue(Set.copyOf(attempted))));
+		return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(), 
+				request.requestTemplate());
+	}
+	
+	
+	
+}
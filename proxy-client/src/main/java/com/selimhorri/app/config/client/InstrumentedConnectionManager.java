@@ -0,0 +1,105 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+	
+	private final Timer leaseTimer;
+	private final Counter connectionsCreated;
+	
+	public InstrumentedConnectionManager(final String client, final String service, 
+			final long timeToLive, final TimeUnit timeToLiveUnit, final MeterRegistry meterRegistry) {
+		
+		super(timeToLive, timeToLiveUnit);
+		
+		final Tags tags = Tags.of("client", client, "service", service);
+		this.leaseTimer = Timer.builder("http.client.pool.lease")
+				.description("Time spent waiting to lease a pooled connection")
+				.tags(tags)
+				.register(meterRegistry);
+		this.connectionsCreated = Counter.builder("http.client.pool.connections.created")
+				.description("Connections opened by the pool, the rate of which is the connection churn")
+				.tags(tags)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.leased", this, manager -> manager.getTotalStats().getLeased())
+				.tags(tags)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.available", this, manager -> manager.getTotalStats().getAvailable())
+				.tags(tags)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.pending", this, manager -> manager.getTotalStats().getPending())
+				.tags(tags)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.max", this, manager -> manager.getTotalStats().getMax())
+				.tags(tags)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.utilization", this, manager -> {
+					final var stats = manager.getTotalStats();
+					return (stats.getMax() == 0) ? 0.0 : (double) stats.getLeased() / stats.getMax();
+				})
+				.tags(tags)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+		
+		final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+		
+		return new ConnectionRequest() {
+			
+			@Override
+			public HttpClientConnection get(final long timeout, final TimeUnit timeUnit) 
+					throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+				final long start = System.nanoTime();
+				try {
+					return connectionRequest.get(timeout, timeUnit);
+				}
+				finally {
+					leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			}
+			
+			@Override
+			public boolean cancel() {
+				return connectionRequest.cancel();
+			}
+		
+		};
+	}
+	
+	@Override
+	public void connect(final HttpClientConnection managedConnection, final HttpRoute route, 
+			final int connectTimeout, final HttpContext context) throws IOException {
+		this.connectionsCreated.increment();
+		super.connect(managedConnection, route, connectTimeout, context);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import feign.httpclient.ApacheHttpClient;
+
+public class PooledFeignClient implements Client {
+	
+	private final FeignConnectionPools connectionPools;
+	private final Map<String, Client> delegates = new ConcurrentHashMap<>();
+	
+	public PooledFeignClient(final FeignConnectionPools connectionPools) {
+		this.connectionPools = connectionPools;
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		return this.delegates.computeIfAbsent(FeignTargets.serviceName(request), 
+				service -> new ApacheHttpClient(this.connectionPools.forService(service)))
+			.execute(InstanceExclusions.stripped(request), options);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.client;
+
+class RequestBudget {
+	
+	private final double depositPerRequest;
+	private final double maximumTokens;
+	private double tokens;
+	
+	RequestBudget(final double depositPerRequest, final double maximumTokens) {
+		this.depositPerRequest = depositPerRequest;
+		this.maximumTokens = maximumTokens;
+		this.tokens = maximumTokens;
+	}
+	
+	synchronized void recordRequest() {
+		this.tokens = Math.min(this.maximumTokens, this.tokens + this.depositPerRequest);
+	}
+	
+	synchronized boolean tryAcquire() {
+		if (this.tokens < 1.0)
+			return false;
+		this.tokens -= 1.0;
+		return true;
+	}
+	
+	synchronized double available() {
+		return this.tokens;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,97 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.selimhorri.app.exception.wrapper.DownstreamUnavailableException;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ResilientFeignClient implements Client {
+	
+	private final Client delegate;
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	
+	public ResilientFeignClient(final Client delegate, 
+			final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry) {
+		this.delegate = delegate;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheadRegistry = bulkheadRegistry;
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		final String service = FeignTargets.serviceName(request);
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(service);
+		final Bulkhead bulkhead = this.bulkheadRegistry.bulkhead(service);
+		
+		try {
+			circuitBreaker.acquirePermission();
+		}
+		catch (CallNotPermittedException e) {
+			log.info("**ResilientFeignClient, circuit open for {}*\n", service);
+			throw new DownstreamUnavailableException(String
+					.format("#### %s is unavailable, try again later! ####", service), e);
+		}
+		
+		if (!bulkhead.tryAcquirePermission()) {
+			circuitBreaker.releasePermission();
+			log.info("**ResilientFeignClient, bulkhead full for {}*\n", service);
+			throw new DownstreamUnavailableException(String
+					.format("#### %s is busy, try again later! ####", service));
+		}
+		
+		final long start = System.nanoTime();
+		try {
+			final Response response = this.delegate.execute(request, options);
+			if (response.status() >= 500)
+				circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, 
+						new DownstreamServerErrorException(service, response.status()));
+			else
+				circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return response;
+		}
+		catch (IOException | RuntimeException e) {
+			circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+			throw e;
+		}
+		finally {
+			bulkhead.onComplete();
+		}
+	}
+	
+	private static final class DownstreamServerErrorException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private DownstreamServerErrorException(final String service, final int status) {
+			super(String.format("%s responded with status %d", service, status), null, false, false);
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
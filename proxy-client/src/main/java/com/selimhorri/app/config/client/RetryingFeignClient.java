@@ -0,0 +1,144 @@
+package com.selimhorri.app.config.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RetryingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final AlternativeInstances alternativeInstances;
+	private final FeignRetryProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, ServiceRetry> serviceRetries = new ConcurrentHashMap<>();
+	
+	public RetryingFeignClient(final Client delegate, final LoadBalancerClientFactory loadBalancerClientFactory, 
+			final FeignRetryProperties properties, final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.alternativeInstances = new AlternativeInstances(loadBalancerClientFactory);
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		if (!this.properties.getMethods().contains(request.httpMethod()))
+			return this.delegate.execute(request, options);
+		
+		final String service = FeignTargets.serviceName(request);
+		final ServiceRetry serviceRetry = this.serviceRetries.computeIfAbsent(service, this::newServiceRetry);
+		serviceRetry.budget.recordRequest();
+		
+		final Set<String> attempted = InstanceExclusions.attempted();
+		for (int retry = 0; ; retry++) {
+			
+			final Response response;
+			try {
+				response = InstanceExclusions.execute(this.delegate, request, options, attempted);
+			}
+			catch (IOException e) {
+				if (!this.shouldRetry(service, serviceRetry, retry, attempted))
+					throw e;
+				continue;
+			}
+			
+			if (!this.properties.getStatuses().contains(response.status()) 
+					|| !this.shouldRetry(service, serviceRetry, retry, attempted))
+				return response;
+			response.close();
+		}
+	}
+	
+	private boolean shouldRetry(final String service, final ServiceRetry serviceRetry, final int retry, 
+			final Set<String> attempted) throws IOException {
+		
+		if (retry >= this.properties.getMaximumRetries())
+			return false;
+		if (!this.alternativeInstances.exist(service)) {
+			serviceRetry.noAlternative.increment();
+			return false;
+		}
+		if (!serviceRetry.budget.tryAcquire()) {
+			serviceRetry.budgetExhausted.increment();
+			return false;
+		}
+		
+		serviceRetry.retried.increment();
+		log.info("**RetryingFeignClient, retrying {} away from {}*\n", service, attempted);
+		this.backoff(retry);
+		return true;
+	}
+	
+	private void backoff(final int retry) throws IOException {
+		final long ceiling = Math.min(this.properties.getMaximumBackoff().toMillis(), 
+				this.properties.getInitialBackoff().toMillis() << Math.min(retry, 20));
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while backing off a retry");
+		}
+	}
+	
+	private ServiceRetry newServiceRetry(final String service) {
+		return new ServiceRetry(service, this.properties, this.meterRegistry);
+	}
+	
+	private static final class ServiceRetry {
+		
+		private final RequestBudget budget;
+		private final Counter retried;
+		private final Counter budgetExhausted;
+		private final Counter noAlternative;
+		
+		private ServiceRetry(final String service, final FeignRetryProperties properties, 
+				final MeterRegistry meterRegistry) {
+			this.budget = new RequestBudget(properties.getBudgetRatio(), properties.getBudgetMaximumTokens());
+			this.retried = retries(service, "retried", meterRegistry);
+			this.budgetExhausted = retries(service, "budget_exhausted", meterRegistry);
+			this.noAlternative = retries(service, "no_alternative", meterRegistry);
+			Gauge.builder("feign.retry.budget.tokens", this.budget, RequestBudget::available)
+					.tag("service", service)
+					.register(meterRegistry);
+		}
+		
+		private static Counter retries(final String service, final String outcome, final MeterRegistry meterRegistry) {
+			return Counter.builder("feign.retry.retries")
+					.description("Downstream retries by outcome")
+					.tag("service", service)
+					.tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,94 @@
+package com.selimhorri.app.config.encoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.exception.wrapper.TooManyAuthenticationRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class BoundedPasswordVerifier {
+	
+	private static final String EXECUTOR_NAME = "password-verification";
+	
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long timeoutMillis;
+	
+	public BoundedPasswordVerifier(final PasswordEncoder passwordEncoder, 
+			@Value("${app.auth.password-verification.threads:0}") final int threads, 
+			@Value("${app.auth.password-verification.queue-capacity:64}") final int queueCapacity, 
+			@Value("${app.auth.password-verification.timeout:PT2S}") final Duration timeout, 
+			final MeterRegistry meterRegistry) {
+		final int poolSize = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+		this.passwordEncoder = passwordEncoder;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(EXECUTOR_NAME + "-"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutMillis = timeout.toMillis();
+		ExecutorServiceMetrics.monitor(meterRegistry, this.executor, EXECUTOR_NAME);
+	}
+	
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		
+		final Future<Boolean> match;
+		try {
+			match = this.executor.submit(() -> this.passwordEncoder.matches(rawPassword, encodedPassword));
+		}
+		catch (RejectedExecutionException e) {
+			log.info("**BoundedPasswordVerifier, verification queue full, shedding login*\n");
+			throw new TooManyAuthenticationRequestsException("#### Too many authentication requests, try again later! ####");
+		}
+		
+		try {
+			return match.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			match.cancel(true);
+			throw new TooManyAuthenticationRequestsException("#### Too many authentication requests, try again later! ####");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			match.cancel(true);
+			throw new IllegalStateException("#### Password verification interrupted! ####", e);
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException("#### Password verification failed! ####", e.getCause());
+		}
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.etag;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ContentEtagGenerator {
+	
+	private final ObjectMapper objectMapper;
+	
+	public String generate(final Object payload) {
+		try {
+			return generate(this.objectMapper.writeValueAsBytes(payload));
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	public static String generate(final byte[] content) {
+		return "\"0" + DigestUtils.md5DigestAsHex(content) + "\"";
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
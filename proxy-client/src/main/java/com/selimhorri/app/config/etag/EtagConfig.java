@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.etag;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class EtagConfig {
+	
+	@Bean
+	public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+		final ShallowEtagHeaderFilter shallowEtagHeaderFilter = new ShallowEtagHeaderFilter();
+		shallowEtagHeaderFilter.setWriteWeakETag(false);
+		final FilterRegistrationBean<ShallowEtagHeaderFilter> registration = 
+				new FilterRegistrationBean<>(shallowEtagHeaderFilter);
+		registration.addUrlPatterns("/api/*");
+		registration.setName("shallowEtagHeaderFilter");
+		return registration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
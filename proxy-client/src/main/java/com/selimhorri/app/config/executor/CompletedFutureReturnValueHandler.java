@@ -0,0 +1,87 @@
+package com.selimhorri.app.config.executor;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+public class CompletedFutureReturnValueHandler implements HandlerMethodReturnValueHandler {
+	
+	private final HandlerMethodReturnValueHandlerComposite delegate;
+	
+	public CompletedFutureReturnValueHandler(final List<HandlerMethodReturnValueHandler> returnValueHandlers) {
+		this.delegate = new HandlerMethodReturnValueHandlerComposite().addHandlers(returnValueHandlers);
+	}
+	
+	@Override
+	public boolean supportsReturnType(final MethodParameter returnType) {
+		return CompletableFuture.class.isAssignableFrom(returnType.getParameterType());
+	}
+	
+	@Override
+	public void handleReturnValue(final Object returnValue, final MethodParameter returnType, 
+			final ModelAndViewContainer mavContainer, final NativeWebRequest webRequest) throws Exception {
+		
+		final CompletableFuture<?> future = (CompletableFuture<?>) returnValue;
+		if (future == null || !future.isDone()) {
+			this.delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+			return;
+		}
+		
+		final Object result;
+		try {
+			result = future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof Exception)
+				throw (Exception) e.getCause();
+			throw e;
+		}
+		this.delegate.handleReturnValue(result, new CompletedResultMethodParameter(returnType, result), 
+				mavContainer, webRequest);
+	}
+	
+	private static final class CompletedResultMethodParameter extends MethodParameter {
+		
+		private final Object result;
+		private final ResolvableType resultType;
+		
+		private CompletedResultMethodParameter(final MethodParameter returnType, final Object result) {
+			super(returnType);
+			this.result = result;
+			this.resultType = ResolvableType.forType(super.getGenericParameterType()).getGeneric();
+		}
+		
+		private CompletedResultMethodParameter(final CompletedResultMethodParameter original) {
+			super(original);
+			this.result = original.result;
+			this.resultType = original.resultType;
+		}
+		
+		@Override
+		public Class<?> getParameterType() {
+			return (this.result != null) ? this.result.getClass() : this.resultType.toClass();
+		}
+		
+		@Override
+		public Type getGenericParameterType() {
+			return this.resultType.getType();
+		}
+		
+		@Override
+		public CompletedResultMethodParameter clone() {
+			return new CompletedResultMethodParameter(this);
+		}
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,105 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ControllerExecutor {
+	
+	private static final String EXECUTOR_NAME = "controller";
+	
+	private final boolean enabled;
+	private final ThreadPoolExecutor threadPoolExecutor;
+	private final Executor executor;
+	
+	public ControllerExecutor(
+			@Value("${app.controller.async.enabled:false}") final boolean enabled, 
+			@Value("${app.controller.async.threads:200}") final int threads, 
+			@Value("${app.controller.async.queue-capacity:1000}") final int queueCapacity, 
+			@Value("${app.virtual-threads.enabled:false}") final boolean virtualThreads, 
+			final MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		if (enabled) {
+			log.info("**ControllerExecutor, running controllers on a bounded executor of {} threads*\n", threads);
+			this.threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, 
+					new ArrayBlockingQueue<>(queueCapacity), ExecutorThreads.threadFactory(EXECUTOR_NAME, virtualThreads), 
+					new ThreadPoolExecutor.AbortPolicy());
+			this.threadPoolExecutor.allowCoreThreadTimeOut(true);
+			this.executor = new DelegatingSecurityContextExecutor(this.threadPoolExecutor);
+			ExecutorServiceMetrics.monitor(meterRegistry, this.threadPoolExecutor, EXECUTOR_NAME);
+		}
+		else {
+			this.threadPoolExecutor = null;
+			this.executor = null;
+		}
+	}
+	
+	public <T> CompletableFuture<T> supply(final Supplier<T> supplier) {
+		
+		if (!this.enabled)
+			return CompletableFuture.completedFuture(supplier.get());
+		
+		final Map<String, String> diagnosticContext = MDC.getCopyOfContextMap();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				final Map<String, String> previousContext = MDC.getCopyOfContextMap();
+				setDiagnosticContext(diagnosticContext);
+				try {
+					return supplier.get();
+				}
+				finally {
+					setDiagnosticContext(previousContext);
+				}
+			}, this.executor);
+		}
+		catch (RejectedExecutionException e) {
+			log.info("**ControllerExecutor, executor saturated, shedding request*\n");
+			return CompletableFuture.failedFuture(
+					new RejectedExecutionException("#### Server is busy, try again later! ####", e));
+		}
+	}
+	
+	private static void setDiagnosticContext(final Map<String, String> diagnosticContext) {
+		if (diagnosticContext == null)
+			MDC.clear();
+		else
+			MDC.setContextMap(diagnosticContext);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		if (this.threadPoolExecutor != null)
+			this.threadPoolExecutor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
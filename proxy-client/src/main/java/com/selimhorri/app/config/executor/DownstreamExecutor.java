@@ -0,0 +1,55 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Component
+public class DownstreamExecutor {
+	
+	private static final String EXECUTOR_NAME = "downstream";
+	
+	private final ThreadPoolExecutor executor;
+	
+	public DownstreamExecutor(
+			@Value("${app.downstream.executor.threads:64}") final int threads, 
+			@Value("${app.downstream.executor.queue-capacity:1024}") final int queueCapacity, 
+			@Value("${app.virtual-threads.enabled:false}") final boolean virtualThreads, 
+			final MeterRegistry meterRegistry) {
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(queueCapacity), ExecutorThreads.threadFactory(EXECUTOR_NAME, virtualThreads), 
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+		ExecutorServiceMetrics.monitor(meterRegistry, this.executor, EXECUTOR_NAME);
+	}
+	
+	public void execute(final Runnable command) {
+		this.executor.execute(command);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
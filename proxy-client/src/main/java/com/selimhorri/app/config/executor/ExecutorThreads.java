@@ -0,0 +1,59 @@
+package com.selimhorri.app.config.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExecutorThreads {
+	
+	public static ThreadFactory threadFactory(final String name, final boolean virtual) {
+		if (!virtual)
+			return new CustomizableThreadFactory(name + "-");
+		try {
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			final Object namedBuilder = builderType.getMethod("name", String.class, long.class)
+					.invoke(builder, name + "-virtual-", 1L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(namedBuilder);
+		}
+		catch (ReflectiveOperationException e) {
+			throw unsupported(e);
+		}
+	}
+	
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		}
+		catch (ReflectiveOperationException e) {
+			throw unsupported(e);
+		}
+	}
+	
+	private static IllegalStateException unsupported(final ReflectiveOperationException e) {
+		return new IllegalStateException(String
+				.format("#### Virtual threads are not available on Java %s, disable app.virtual-threads.enabled! ####", 
+						System.getProperty("java.version")), e);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Component
+public class HedgingExecutor {
+	
+	private static final String EXECUTOR_NAME = "hedging";
+	
+	private final ThreadPoolExecutor executor;
+	
+	public HedgingExecutor(
+			@Value("${app.feign.hedging.threads:200}") final int threads, 
+			@Value("${app.virtual-threads.enabled:false}") final boolean virtualThreads, 
+			final MeterRegistry meterRegistry) {
+		this.executor = new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, 
+				new SynchronousQueue<>(), ExecutorThreads.threadFactory(EXECUTOR_NAME, virtualThreads), 
+				new ThreadPoolExecutor.AbortPolicy());
+		ExecutorServiceMetrics.monitor(meterRegistry, this.executor, EXECUTOR_NAME);
+	}
+	
+	public void execute(final Runnable command) {
+		this.executor.execute(command);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@ConditionalOnProperty(name = "app.controller.async.enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class SynchronousControllerConfig implements InitializingBean {
+	
+	private final RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+	
+	@Override
+	public void afterPropertiesSet() {
+		log.info("**SynchronousControllerConfig, writing completed controller futures on the request thread*\n");
+		final List<HandlerMethodReturnValueHandler> returnValueHandlers = 
+				new ArrayList<>(this.requestMappingHandlerAdapter.getReturnValueHandlers());
+		returnValueHandlers.add(0, new CompletedFutureReturnValueHandler(
+				this.requestMappingHandlerAdapter.getReturnValueHandlers()));
+		this.requestMappingHandlerAdapter.setReturnValueHandlers(returnValueHandlers);
+	}
+	
+	
+	
+}
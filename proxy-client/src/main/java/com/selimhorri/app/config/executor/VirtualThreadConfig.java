@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+	
+	private final ExecutorService tomcatVirtualThreadExecutor = ExecutorThreads.newVirtualThreadPerTaskExecutor();
+	
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+		log.info("**VirtualThreadConfig, serving requests on virtual threads, java {}*\n", 
+				System.getProperty("java.version"));
+		return protocolHandler -> protocolHandler.setExecutor(this.tomcatVirtualThreadExecutor);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.tomcatVirtualThreadExecutor.shutdown();
+	}
+	
+	
+	
+}
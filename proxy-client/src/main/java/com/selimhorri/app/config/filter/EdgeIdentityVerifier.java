@@ -0,0 +1,97 @@
+package com.selimhorri.app.config.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.constant.AppConstant.EdgeIdentityHeaders;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class EdgeIdentityVerifier {
+	
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	
+	private final boolean enabled;
+	private final SecretKeySpec secretKey;
+	private final long maximumAgeMillis;
+	
+	public EdgeIdentityVerifier(
+			@Value("${app.edge-auth.enabled:false}") final boolean enabled, 
+			@Value("${app.edge-auth.secret:}") final String secret, 
+			@Value("${app.edge-auth.maximum-age:PT30S}") final Duration maximumAge) {
+		if (enabled && secret.isBlank())
+			throw new IllegalStateException("app.edge-auth.secret must be set when app.edge-auth.enabled is true");
+		this.enabled = enabled;
+		this.secretKey = (enabled) ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM) : null;
+		this.maximumAgeMillis = maximumAge.toMillis();
+	}
+	
+	public boolean verify(final HttpServletRequest request) {
+		
+		if (!this.enabled)
+			return false;
+		
+		final String subject = request.getHeader(EdgeIdentityHeaders.SUBJECT);
+		final String timestamp = request.getHeader(EdgeIdentityHeaders.TIMESTAMP);
+		final String signature = request.getHeader(EdgeIdentityHeaders.SIGNATURE);
+		if (subject == null || timestamp == null || signature == null)
+			return false;
+		
+		try {
+			if (Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp)) > this.maximumAgeMillis) {
+				log.info("**EdgeIdentityVerifier, stale edge identity headers ignored*\n");
+				return false;
+			}
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+		
+		final String role = request.getHeader(EdgeIdentityHeaders.ROLE);
+		final String tokenId = request.getHeader(EdgeIdentityHeaders.TOKEN_ID);
+		final byte[] expected = this.sign(subject, (role == null) ? "" : role, 
+				(tokenId == null) ? "" : tokenId, timestamp);
+		final boolean verified = MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+		if (!verified)
+			log.info("**EdgeIdentityVerifier, edge identity signature mismatch*\n");
+		return verified;
+	}
+	
+	private byte[] sign(final String subject, final String role, final String tokenId, final String timestamp) {
+		try {
+			final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(this.secretKey);
+			final byte[] digest = mac.doFinal(String.join("\n", subject, role, tokenId, timestamp)
+					.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encode(digest);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
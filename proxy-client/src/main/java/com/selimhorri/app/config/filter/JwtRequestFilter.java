@@ -7,15 +7,25 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.constant.AppConstant.EdgeIdentityHeaders;
+import com.selimhorri.app.jwt.revocation.RevokedTokenFilter;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.util.JwtValidationMode;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +35,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
+	private static final UserDetailsChecker ACCOUNT_STATUS_CHECKER = new AccountStatusUserDetailsChecker();
+	
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final EdgeIdentityVerifier edgeIdentityVerifier;
+	private final RevokedTokenFilter revokedTokenFilter;
+	
+	@Value("${app.jwt.validation-mode:STRICT}")
+	private JwtValidationMode validationMode;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -34,21 +51,12 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		log.info("**JwtRequestFilter, once per request, validating and extracting token*\n");
 		
-		final var authorizationHeader = request.getHeader("Authorization");
-		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (SecurityContextHolder.getContext().getAuthentication() == null) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UserDetails userDetails = (this.edgeIdentityVerifier.verify(request)) ? 
+					this.resolveEdgeUserDetails(request) : this.resolveJwtUserDetails(request);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +69,69 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	private UserDetails resolveJwtUserDetails(final HttpServletRequest request) {
+		
+		final var authorizationHeader = request.getHeader("Authorization");
+		
+		if ( authorizationHeader == null || !authorizationHeader.startsWith("Bearer ") )
+			return null;
+		
+		final String jwt = authorizationHeader.substring(7);
+		final String username = jwtService.extractUsername(jwt);
+		if (username == null)
+			return null;
+		
+		final UserDetails userDetails = this.resolveUserDetails(jwt, username);
+		return (userDetails != null && this.jwtService.validateToken(jwt, userDetails)) ? userDetails : null;
+	}
+	
+	private UserDetails resolveEdgeUserDetails(final HttpServletRequest request) {
+		
+		log.info("**JwtRequestFilter, trusting identity verified at the edge*\n");
+		
+		final String username = request.getHeader(EdgeIdentityHeaders.SUBJECT);
+		final String role = request.getHeader(EdgeIdentityHeaders.ROLE);
+		
+		if (this.revokedTokenFilter.mightBeRevoked(request.getHeader(EdgeIdentityHeaders.TOKEN_ID)))
+			return null;
+		
+		if (this.validationMode != JwtValidationMode.SELF_CONTAINED)
+			return this.userDetailsService.loadUserByUsername(username);
+		
+		if (role != null && !role.isBlank())
+			return new UserDetailsImpl(CredentialDto.builder()
+					.username(username)
+					.roleBasedAuthority(RoleBasedAuthority.valueOf(role))
+					.isEnabled(true)
+					.isAccountNonExpired(true)
+					.isAccountNonLocked(true)
+					.isCredentialsNonExpired(true)
+					.build());
+		
+		return this.checkAccountStatus(this.userDetailsService.loadUserByUsername(username));
+	}
+	
+	private UserDetails resolveUserDetails(final String jwt, final String username) {
+		
+		if (this.validationMode != JwtValidationMode.SELF_CONTAINED)
+			return this.userDetailsService.loadUserByUsername(username);
+		
+		final UserDetails userDetails = this.jwtService.extractUserDetails(jwt);
+		return this.checkAccountStatus(
+				(userDetails != null) ? userDetails : this.userDetailsService.loadUserByUsername(username));
+	}
+	
+	private UserDetails checkAccountStatus(final UserDetails userDetails) {
+		try {
+			ACCOUNT_STATUS_CHECKER.check(userDetails);
+			return userDetails;
+		}
+		catch (AccountStatusException e) {
+			log.info("**JwtRequestFilter, rejecting {}: {}*\n", userDetails.getUsername(), e.getMessage());
+			return null;
+		}
+	}
+	
 	
 	
 }
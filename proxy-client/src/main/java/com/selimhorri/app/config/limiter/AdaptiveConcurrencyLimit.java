@@ -0,0 +1,90 @@
+package com.selimhorri.app.config.limiter;
+
+public class AdaptiveConcurrencyLimit {
+	
+	private static final double SHORT_RTT_WEIGHT = 0.1;
+	private static final double LONG_RTT_WEIGHT = 1.0 / 600;
+	private static final double LONG_RTT_RECOVERY = 0.95;
+	private static final double MINIMUM_GRADIENT = 0.5;
+	
+	private final int minimumLimit;
+	private final int maximumLimit;
+	private final double tolerance;
+	private final double smoothing;
+	private final double backoffRatio;
+	private double limit;
+	private int inFlight;
+	private long samples;
+	private double shortRttNanos;
+	private double longRttNanos;
+	
+	public AdaptiveConcurrencyLimit(final ConcurrencyLimitProperties.Group group) {
+		this.minimumLimit = group.getMinimumLimit();
+		this.maximumLimit = group.getMaximumLimit();
+		this.tolerance = group.getTolerance();
+		this.smoothing = group.getSmoothing();
+		this.backoffRatio = group.getBackoffRatio();
+		this.limit = group.getInitialLimit();
+	}
+	
+	public synchronized boolean tryAcquire() {
+		if (this.inFlight >= (int) this.limit)
+			return false;
+		this.inFlight++;
+		return true;
+	}
+	
+	public synchronized void release(final long rttNanos, final boolean dropped) {
+		
+		final int observedInFlight = this.inFlight;
+		this.inFlight = Math.max(0, this.inFlight - 1);
+		
+		if (dropped) {
+			this.limit = Math.max(this.minimumLimit, this.limit * this.backoffRatio);
+			return;
+		}
+		if (this.samples++ == 0L) {
+			this.shortRttNanos = rttNanos;
+			this.longRttNanos = rttNanos;
+			return;
+		}
+		
+		this.shortRttNanos += (rttNanos - this.shortRttNanos) * SHORT_RTT_WEIGHT;
+		this.longRttNanos += (rttNanos - this.longRttNanos) * LONG_RTT_WEIGHT;
+		if (this.longRttNanos / this.shortRttNanos > 2.0)
+			this.longRttNanos *= LONG_RTT_RECOVERY;
+		if (observedInFlight < this.limit / 2)
+			return;
+		
+		final double gradient = Math.max(MINIMUM_GRADIENT, 
+				Math.min(1.0, this.tolerance * this.longRttNanos / this.shortRttNanos));
+		final double estimatedLimit = this.limit * gradient + Math.sqrt(this.limit);
+		this.limit = Math.max(this.minimumLimit, Math.min(this.maximumLimit, 
+				this.limit * (1.0 - this.smoothing) + estimatedLimit * this.smoothing));
+	}
+	
+	public synchronized void releaseWithoutSample() {
+		this.inFlight = Math.max(0, this.inFlight - 1);
+	}
+	
+	public synchronized int limit() {
+		return (int) this.limit;
+	}
+	
+	public synchronized int inFlight() {
+		return this.inFlight;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
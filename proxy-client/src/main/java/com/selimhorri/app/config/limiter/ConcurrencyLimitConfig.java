@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.limiter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+	
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+			final ConcurrencyLimitProperties properties, final ObjectMapper objectMapper, 
+			final MeterRegistry meterRegistry) {
+		final FilterRegistrationBean<ConcurrencyLimitFilter> registration = 
+				new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties, objectMapper, meterRegistry));
+		registration.addUrlPatterns("/api/*");
+		registration.setName("concurrencyLimitFilter");
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+		return registration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,214 @@
+package com.selimhorri.app.config.limiter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.DownstreamUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	
+	private final List<LimitGroup> groups;
+	private final String retryAfter;
+	private final ObjectMapper objectMapper;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	
+	public ConcurrencyLimitFilter(final ConcurrencyLimitProperties properties, final ObjectMapper objectMapper, 
+			final MeterRegistry meterRegistry) {
+		this.groups = properties.getGroups().entrySet().stream()
+				.map(group -> new LimitGroup(group.getKey(), group.getValue(), meterRegistry))
+				.collect(Collectors.toUnmodifiableList());
+		this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+		this.objectMapper = objectMapper;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, 
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final LimitGroup group = this.groupOf(request);
+		if (group == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		if (!group.limit.tryAcquire()) {
+			group.rejected.increment();
+			log.info("**ConcurrencyLimitFilter, {} limit of {} reached, shedding request*\n", 
+					group.name, group.limit.limit());
+			this.reject(response);
+			return;
+		}
+		
+		final long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		catch (IOException | ServletException | RuntimeException e) {
+			release(group.limit, start, e, null, false);
+			throw e;
+		}
+		
+		if (request.isAsyncStarted())
+			request.getAsyncContext().addListener(new ReleasingAsyncListener(group.limit, start));
+		else
+			release(group.limit, start, exceptionOf(request), response, false);
+	}
+	
+	private LimitGroup groupOf(final HttpServletRequest request) {
+		final String path = this.urlPathHelper.getPathWithinApplication(request);
+		return this.groups.stream()
+				.filter(group -> group.paths.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path)))
+				.findFirst()
+				.orElse(null);
+	}
+	
+	private void reject(final HttpServletResponse response) throws IOException {
+		final HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		response.setStatus(serviceUnavailable.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, this.retryAfter);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		this.objectMapper.writeValue(response.getOutputStream(), ExceptionMsg.builder()
+				.msg("#### Server is busy, try again later! ####")
+				.httpStatus(serviceUnavailable)
+				.timestamp(ZonedDateTime
+						.now(ZoneId.systemDefault()))
+				.build());
+	}
+	
+	private static void release(final AdaptiveConcurrencyLimit limit, final long start, final Throwable exception, 
+			final HttpServletResponse response, final boolean timedOut) {
+		if (isShed(exception) || (response != null && response.getHeader(HttpHeaders.RETRY_AFTER) != null))
+			limit.releaseWithoutSample();
+		else
+			limit.release(System.nanoTime() - start, timedOut || isTimeout(exception) 
+					|| (response != null && response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value()));
+	}
+	
+	private static Throwable exceptionOf(final ServletRequest request) {
+		final Object exception = request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+		return (exception instanceof Throwable) ? (Throwable) exception : null;
+	}
+	
+	private static boolean isShed(final Throwable exception) {
+		for (Throwable cause = exception; cause != null && cause.getCause() != cause; cause = cause.getCause())
+			if (cause instanceof DownstreamUnavailableException || cause instanceof RejectedExecutionException)
+				return true;
+		return false;
+	}
+	
+	private static boolean isTimeout(final Throwable exception) {
+		for (Throwable cause = exception; cause != null && cause.getCause() != cause; cause = cause.getCause())
+			if (cause instanceof SocketTimeoutException || cause instanceof TimeoutException)
+				return true;
+		return false;
+	}
+	
+	private static final class LimitGroup {
+		
+		private final String name;
+		private final List<String> paths;
+		private final AdaptiveConcurrencyLimit limit;
+		private final Counter rejected;
+		
+		private LimitGroup(final String name, final ConcurrencyLimitProperties.Group group, 
+				final MeterRegistry meterRegistry) {
+			this.name = name;
+			this.paths = List.copyOf(group.getPaths());
+			this.limit = new AdaptiveConcurrencyLimit(group);
+			this.rejected = Counter.builder("http.server.concurrency.rejected")
+					.description("Requests shed by the adaptive concurrency limit")
+					.tag("group", name)
+					.register(meterRegistry);
+			Gauge.builder("http.server.concurrency.limit", this.limit, AdaptiveConcurrencyLimit::limit)
+					.tag("group", name)
+					.register(meterRegistry);
+			Gauge.builder("http.server.concurrency.in-flight", this.limit, AdaptiveConcurrencyLimit::inFlight)
+					.tag("group", name)
+					.register(meterRegistry);
+		}
+		
+	}
+	
+	private static final class ReleasingAsyncListener implements AsyncListener {
+		
+		private final AdaptiveConcurrencyLimit limit;
+		private final long start;
+		private final AtomicBoolean timedOut = new AtomicBoolean();
+		private final AtomicBoolean released = new AtomicBoolean();
+		
+		private ReleasingAsyncListener(final AdaptiveConcurrencyLimit limit, final long start) {
+			this.limit = limit;
+			this.start = start;
+		}
+		
+		@Override
+		public void onComplete(final AsyncEvent event) {
+			if (this.released.compareAndSet(false, true))
+				release(this.limit, this.start, exceptionOf(event.getAsyncContext().getRequest()), 
+						(HttpServletResponse) event.getAsyncContext().getResponse(), this.timedOut.get());
+		}
+		
+		@Override
+		public void onTimeout(final AsyncEvent event) {
+			this.timedOut.set(true);
+		}
+		
+		@Override
+		public void onError(final AsyncEvent event) {
+			if (isTimeout(event.getThrowable()))
+				this.timedOut.set(true);
+		}
+		
+		@Override
+		public void onStartAsync(final AsyncEvent event) {
+			
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,45 @@
+package com.selimhorri.app.config.limiter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+	
+	private boolean enabled = false;
+	private int retryAfterSeconds = 1;
+	private Map<String, Group> groups = new LinkedHashMap<>();
+	
+	@Data
+	public static class Group {
+		
+		private List<String> paths = new ArrayList<>();
+		private int initialLimit = 50;
+		private int minimumLimit = 10;
+		private int maximumLimit = 500;
+		private double tolerance = 1.5;
+		private double smoothing = 0.2;
+		private double backoffRatio = 0.9;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
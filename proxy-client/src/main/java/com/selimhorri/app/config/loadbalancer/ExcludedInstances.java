@@ -0,0 +1,67 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExcludedInstances {
+	
+	public static final String HEADER = "X-Excluded-Instances";
+	private static final ThreadLocal<Set<String>> CHOSEN = new ThreadLocal<>();
+	
+	public static Set<String> recording() {
+		return CHOSEN.get();
+	}
+	
+	public static Set<String> recordChosenInto(final Set<String> instanceKeys) {
+		final Set<String> previous = CHOSEN.get();
+		CHOSEN.set(instanceKeys);
+		return previous;
+	}
+	
+	public static void restore(final Set<String> previous) {
+		if (previous == null)
+			CHOSEN.remove();
+		else
+			CHOSEN.set(previous);
+	}
+	
+	public static String headerValue(final Set<String> instanceKeys) {
+		return String.join(",", instanceKeys);
+	}
+	
+	static void chosen(final ServiceInstance instance) {
+		final Set<String> instanceKeys = CHOSEN.get();
+		if (instanceKeys != null)
+			instanceKeys.add(InstanceStatistics.instanceKey(instance));
+	}
+	
+	@SuppressWarnings("rawtypes")
+	static Set<String> of(final Request request) {
+		if (request == null || !(request.getContext() instanceof RequestDataContext))
+			return Set.of();
+		final RequestDataContext context = (RequestDataContext) request.getContext();
+		if (context.getClientRequest() == null || context.getClientRequest().getHeaders() == null)
+			return Set.of();
+		final List<String> values = context.getClientRequest().getHeaders().get(HEADER);
+		if (values == null)
+			return Set.of();
+		return values.stream()
+				.flatMap(value -> Arrays.stream(value.split(",")))
+				.map(String::trim)
+				.filter(instanceKey -> !instanceKey.isEmpty())
+				.collect(Collectors.toUnmodifiableSet());
+	}
+	
+	
+	
+}
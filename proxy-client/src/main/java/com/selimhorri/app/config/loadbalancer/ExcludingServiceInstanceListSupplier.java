@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+public class ExcludingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+	
+	public ExcludingServiceInstanceListSupplier(final ServiceInstanceListSupplier delegate) {
+		super(delegate);
+	}
+	
+	@Override
+	public Flux<List<ServiceInstance>> get() {
+		return this.delegate.get();
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Flux<List<ServiceInstance>> get(final Request request) {
+		final Set<String> excluded = ExcludedInstances.of(request);
+		if (excluded.isEmpty())
+			return this.delegate.get(request);
+		return this.delegate.get(request).map(instances -> exclude(instances, excluded));
+	}
+	
+	private static List<ServiceInstance> exclude(final List<ServiceInstance> instances, final Set<String> excluded) {
+		final List<ServiceInstance> remaining = instances.stream()
+				.filter(instance -> !excluded.contains(InstanceStatistics.instanceKey(instance)))
+				.collect(Collectors.toUnmodifiableList());
+		return (remaining.isEmpty()) ? instances : remaining;
+	}
+	
+	
+	
+}
@@ -0,0 +1,52 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+public class LoadBalancerClientConfig {
+	
+	@Bean
+	public ServiceInstanceListSupplier outlierEjectingServiceInstanceListSupplier(
+			final ConfigurableApplicationContext context, final OutlierDetector outlierDetector, 
+			final InstanceStatistics instanceStatistics) {
+		return new ExcludingServiceInstanceListSupplier(new OutlierEjectingServiceInstanceListSupplier(
+				new InstanceRetainingServiceInstanceListSupplier(ServiceInstanceListSupplier.builder()
+						.withBlockingDiscoveryClient()
+						.withCaching()
+						.build(context), instanceStatistics, outlierDetector), outlierDetector));
+	}
+	
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(final Environment environment, 
+			final LoadBalancerClientFactory loadBalancerClientFactory, 
+			final InstanceStatistics instanceStatistics, 
+			@Value("${app.load-balancer.latency-aware.enabled:true}") final boolean latencyAware) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		if (!latencyAware)
+			return new RoundRobinLoadBalancer(
+					loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), 
+				serviceId, instanceStatistics);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,257 @@
+package com.selimhorri.app.config.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+
+import feign.FeignException;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class CollectionStreamer {
+	
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	private static final String COLLECTION = "collection";
+	private static final String NEXT_CURSOR = "nextCursor";
+	private static final String CURSOR_PREFIX = "o:";
+	private static final List<String> PASSTHROUGH_HEADERS = List.of(
+			HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_LANGUAGE, 
+			HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+	
+	private final JsonFactory jsonFactory;
+	
+	@Value("${app.pagination.maximum-limit:1000}")
+	private int maximumLimit;
+	
+	public CollectionStreamer(final ObjectMapper objectMapper) {
+		this.jsonFactory = objectMapper.getFactory();
+	}
+	
+	public ResponseEntity<StreamingResponseBody> page(final Supplier<Response> downstream, 
+			final int limit, final String cursor) {
+		
+		log.info("**CollectionStreamer, stream collection page*\n");
+		final int pageSize = this.pageSize(limit);
+		final long offset = decodeCursor(cursor);
+		final Response response = open(downstream);
+		
+		return this.streamed(MediaType.APPLICATION_JSON)
+				.body(outputStream -> {
+					try (response; 
+							final JsonParser parser = this.openCollection(response); 
+							final JsonGenerator generator = this.createGenerator(outputStream)) {
+						generator.writeStartObject();
+						generator.writeArrayFieldStart(COLLECTION);
+						final long written = skip(parser, offset) ? copy(parser, generator, pageSize) : 0L;
+						generator.writeEndArray();
+						if (written == pageSize && hasNext(parser))
+							generator.writeStringField(NEXT_CURSOR, encodeCursor(offset + written));
+						generator.writeEndObject();
+					}
+				});
+	}
+	
+	public ResponseEntity<StreamingResponseBody> ndjson(final Supplier<Response> downstream, 
+			final Integer limit, final String cursor) {
+		
+		log.info("**CollectionStreamer, stream collection as ndjson*\n");
+		final long pageSize = (limit == null) ? Long.MAX_VALUE : this.pageSize(limit);
+		final long offset = decodeCursor(cursor);
+		final Response response = open(downstream);
+		
+		return this.streamed(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+				.body(outputStream -> {
+					try (response; 
+							final JsonParser parser = this.openCollection(response); 
+							final JsonGenerator generator = this.newLineDelimitedGenerator(outputStream)) {
+						final long written = skip(parser, offset) ? copyLines(parser, generator, pageSize) : 0L;
+						if (limit != null && written == pageSize && hasNext(parser)) {
+							generator.writeStartObject();
+							generator.writeStringField(NEXT_CURSOR, encodeCursor(offset + written));
+							generator.writeEndObject();
+							generator.writeRaw('\n');
+						}
+					}
+				});
+	}
+	
+	public ResponseEntity<StreamingResponseBody> passthrough(final Supplier<Response> downstream) {
+		
+		log.info("**CollectionStreamer, pass downstream collection through*\n");
+		final Response response = open(downstream);
+		
+		final ResponseEntity.BodyBuilder bodyBuilder = this.streamed(contentType(response));
+		response.headers().forEach((name, values) -> {
+			if (PASSTHROUGH_HEADERS.stream().anyMatch(name::equalsIgnoreCase))
+				bodyBuilder.header(name, values.toArray(String[]::new));
+		});
+		
+		return bodyBuilder.body(outputStream -> {
+			try (response; 
+					final InputStream inputStream = response.body().asInputStream()) {
+				inputStream.transferTo(outputStream);
+			}
+		});
+	}
+	
+	private int pageSize(final int limit) {
+		if (limit < 1)
+			throw new InvalidRequestParameterException("#### Limit must be a positive number! ####");
+		return Math.min(limit, this.maximumLimit);
+	}
+	
+	private ResponseEntity.BodyBuilder streamed(final MediaType mediaType) {
+		final var requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes instanceof ServletRequestAttributes)
+			ShallowEtagHeaderFilter.disableContentCaching(((ServletRequestAttributes) requestAttributes).getRequest());
+		return ResponseEntity.ok()
+				.contentType(mediaType);
+	}
+	
+	private JsonParser openCollection(final Response response) throws IOException {
+		
+		final JsonParser parser = this.jsonFactory.createParser(response.body().asInputStream());
+		if (parser.nextToken() != JsonToken.START_OBJECT)
+			return parser;
+		
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String fieldName = parser.getCurrentName();
+			final JsonToken value = parser.nextToken();
+			if (COLLECTION.equals(fieldName) && value == JsonToken.START_ARRAY)
+				return parser;
+			parser.skipChildren();
+		}
+		return parser;
+	}
+	
+	private JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+		return this.jsonFactory.createGenerator(outputStream)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+	
+	private JsonGenerator newLineDelimitedGenerator(final OutputStream outputStream) throws IOException {
+		final JsonGenerator generator = this.createGenerator(outputStream);
+		generator.setRootValueSeparator(null);
+		return generator;
+	}
+	
+	private static MediaType contentType(final Response response) {
+		return response.headers().entrySet().stream()
+				.filter(header -> HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()))
+				.flatMap(header -> header.getValue().stream())
+				.findFirst()
+				.map(MediaType::parseMediaType)
+				.orElse(MediaType.APPLICATION_JSON);
+	}
+	
+	private static Response open(final Supplier<Response> downstream) {
+		final Response response = downstream.get();
+		if (response.status() / 100 != 2 || response.body() == null) {
+			try (response) {
+				throw FeignException.errorStatus("streamAll", response);
+			}
+		}
+		return response;
+	}
+	
+	private static boolean isInCollection(final JsonParser parser) {
+		return parser.getParsingContext().inArray();
+	}
+	
+	private static boolean skip(final JsonParser parser, final long offset) throws IOException {
+		if (!isInCollection(parser))
+			return false;
+		for (long i = 0; i < offset; i++) {
+			if (!nextItem(parser))
+				return false;
+			parser.skipChildren();
+		}
+		return true;
+	}
+	
+	private static long copy(final JsonParser parser, final JsonGenerator generator, final long limit) throws IOException {
+		long written = 0L;
+		while (written < limit && nextItem(parser)) {
+			generator.copyCurrentStructure(parser);
+			written++;
+		}
+		return written;
+	}
+	
+	private static long copyLines(final JsonParser parser, final JsonGenerator generator, final long limit) throws IOException {
+		long written = 0L;
+		while (written < limit && nextItem(parser)) {
+			generator.copyCurrentStructure(parser);
+			generator.writeRaw('\n');
+			written++;
+		}
+		return written;
+	}
+	
+	private static boolean hasNext(final JsonParser parser) throws IOException {
+		return isInCollection(parser) && nextItem(parser);
+	}
+	
+	private static boolean nextItem(final JsonParser parser) throws IOException {
+		final JsonToken token = parser.nextToken();
+		return token != null && token != JsonToken.END_ARRAY;
+	}
+	
+	private static String encodeCursor(final long offset) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.US_ASCII));
+	}
+	
+	private static long decodeCursor(final String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return 0L;
+		try {
+			final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+			if (decoded.startsWith(CURSOR_PREFIX)) {
+				final long offset = Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+				if (offset >= 0)
+					return offset;
+			}
+		}
+		catch (IllegalArgumentException e) {
+			log.info("**CollectionStreamer, malformed cursor*\n");
+		}
+		throw new InvalidRequestParameterException("#### Invalid cursor! ####");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,17 +1,89 @@
 package com.selimhorri.app.config.template;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.client.InstrumentedConnectionManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class TemplateConfig {
 	
+	private static final String CLIENT_NAME = "rest-template";
+	
+	@Value("${app.rest-template.connect-timeout:1s}")
+	private Duration connectTimeout;
+	
+	@Value("${app.rest-template.read-timeout:3s}")
+	private Duration readTimeout;
+	
+	@Value("${app.rest-template.connection-request-timeout:500ms}")
+	private Duration connectionRequestTimeout;
+	
+	@Value("${app.rest-template.max-connections:200}")
+	private int maxConnections;
+	
+	@Value("${app.rest-template.max-connections-per-route:50}")
+	private int maxConnectionsPerRoute;
+	
+	@Value("${app.rest-template.time-to-live:5m}")
+	private Duration timeToLive;
+	
+	@Value("${app.rest-template.idle-timeout:30s}")
+	private Duration idleTimeout;
+	
+	@Bean
+	public CloseableHttpClient restTemplateHttpClient(final MeterRegistry meterRegistry) {
+		
+		final InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(
+				CLIENT_NAME, "all", this.timeToLive.toMillis(), TimeUnit.MILLISECONDS, meterRegistry);
+		connectionManager.setMaxTotal(this.maxConnections);
+		connectionManager.setDefaultMaxPerRoute(this.maxConnectionsPerRoute);
+		connectionManager.setValidateAfterInactivity(2000);
+		
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) this.connectTimeout.toMillis())
+						.setSocketTimeout((int) this.readTimeout.toMillis())
+						.setConnectionRequestTimeout((int) this.connectionRequestTimeout.toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(this.idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.disableRedirectHandling()
+				.disableCookieManagement()
+				.useSystemProperties()
+				.build();
+	}
+	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder, 
+			final CloseableHttpClient restTemplateHttpClient) {
+		
+		final HttpComponentsClientHttpRequestFactory requestFactory = 
+				new HttpComponentsClientHttpRequestFactory(restTemplateHttpClient);
+		requestFactory.setConnectTimeout((int) this.connectTimeout.toMillis());
+		requestFactory.setReadTimeout((int) this.readTimeout.toMillis());
+		requestFactory.setConnectionRequestTimeout((int) this.connectionRequestTimeout.toMillis());
+		
+		return restTemplateBuilder
+				.requestFactory(() -> requestFactory)
+				.build();
 	}
 	
 	
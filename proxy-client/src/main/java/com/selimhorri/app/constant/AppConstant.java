@@ -34,6 +34,26 @@ public abstract class AppConstant {
 		
 	}
 	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class EdgeIdentityHeaders {
+		
+		public static final String SUBJECT = "X-Edge-Auth-Subject";
+		public static final String ROLE = "X-Edge-Auth-Role";
+		public static final String TOKEN_ID = "X-Edge-Auth-Token-Id";
+		public static final String TIMESTAMP = "X-Edge-Auth-Timestamp";
+		public static final String SIGNATURE = "X-Edge-Auth-Signature";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class TokenTypes {
+		
+		public static final String CLAIM = "typ";
+		public static final String ACCESS = "access";
+		public static final String REFRESH = "refresh";
+		
+	}
+	
 	
 	
 }
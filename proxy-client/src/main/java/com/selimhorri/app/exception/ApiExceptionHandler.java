@@ -2,7 +2,9 @@ package com.selimhorri.app.exception;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,7 +15,11 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
+import com.selimhorri.app.exception.wrapper.DownstreamUnavailableException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+import com.selimhorri.app.exception.wrapper.TooManyAuthenticationRequestsException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 
@@ -65,11 +71,52 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		TooManyAuthenticationRequestsException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleTooManyRequestsException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle too many requests exception*\n");
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		final var headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, "1");
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(tooManyRequests)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), headers, tooManyRequests);
+	}
+	
+	@ExceptionHandler(value = {
+		DownstreamUnavailableException.class,
+		RejectedExecutionException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleServiceUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle service unavailable exception*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		final var headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, "1");
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), headers, serviceUnavailable);
+	}
+	
 	@ExceptionHandler(value = {
 		UserObjectNotFoundException.class,
 		CredentialNotFoundException.class,
 		VerificationTokenNotFoundException.class,
 		FavouriteNotFoundException.class,
+		IllegalAuthenticationCredentialsException.class,
+		InvalidRequestParameterException.class,
 		IllegalStateException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
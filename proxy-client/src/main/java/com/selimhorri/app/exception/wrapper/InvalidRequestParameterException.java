@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidRequestParameterException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidRequestParameterException() {
+		super();
+	}
+	
+	public InvalidRequestParameterException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidRequestParameterException(String message) {
+		super(message);
+	}
+	
+	public InvalidRequestParameterException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class TooManyAuthenticationRequestsException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public TooManyAuthenticationRequestsException() {
+		super();
+	}
+	
+	public TooManyAuthenticationRequestsException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public TooManyAuthenticationRequestsException(String message) {
+		super(message);
+	}
+	
+	public TooManyAuthenticationRequestsException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class RejectedTokenCache {
+	
+	private static final String CACHE_NAME = "jwt.rejected";
+	
+	private final Cache<String, Boolean> cache;
+	
+	public RejectedTokenCache(
+			@Value("${app.jwt.rejected-cache.maximum-size:50000}") final long maximumSize,
+			@Value("${app.jwt.rejected-cache.time-to-live:PT10M}") final Duration timeToLive,
+			final MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLive)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	public boolean isRejected(final String token) {
+		return this.cache.getIfPresent(TokenDigests.digest(token)) != null;
+	}
+	
+	public void reject(final String token) {
+		this.cache.put(TokenDigests.digest(token), Boolean.TRUE);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
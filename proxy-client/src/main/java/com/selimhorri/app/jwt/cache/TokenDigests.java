@@ -0,0 +1,40 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TokenDigests {
+	
+	private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+	
+	static String digest(final String token) {
+		return Base64.getEncoder().encodeToString(SHA_256.get()
+				.digest(token.getBytes(StandardCharsets.US_ASCII)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
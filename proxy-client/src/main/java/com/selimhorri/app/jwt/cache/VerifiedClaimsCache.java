@@ -0,0 +1,104 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class VerifiedClaimsCache {
+	
+	private static final String CACHE_NAME = "jwt.claims";
+	
+	private final Cache<String, Claims> cache;
+	
+	@Autowired
+	public VerifiedClaimsCache(
+			@Value("${app.jwt.claims-cache.maximum-size:10000}") final long maximumSize,
+			@Value("${app.jwt.claims-cache.maximum-ttl:PT10H}") final Duration maximumTtl,
+			final MeterRegistry meterRegistry) {
+		this(maximumSize, maximumTtl, meterRegistry, Ticker.systemTicker());
+	}
+	
+	VerifiedClaimsCache(final long maximumSize, final Duration maximumTtl, final MeterRegistry meterRegistry, 
+			final Ticker ticker) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new ClaimsExpiry(maximumTtl.toNanos()))
+				.ticker(ticker)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	public Claims get(final String token, final Function<String, Claims> verifier) {
+		return this.cache.get(TokenDigests.digest(token), key -> {
+			log.info("**VerifiedClaimsCache, miss, verifying token signature*\n");
+			return verifier.apply(token);
+		});
+	}
+	
+	public void invalidate(final String token) {
+		this.cache.invalidate(TokenDigests.digest(token));
+	}
+	
+	private static final class ClaimsExpiry implements Expiry<String, Claims> {
+		
+		private final long maximumTtlNanos;
+		
+		private ClaimsExpiry(final long maximumTtlNanos) {
+			this.maximumTtlNanos = maximumTtlNanos;
+		}
+		
+		@Override
+		public long expireAfterCreate(final String key, final Claims claims, final long currentTime) {
+			final Date expiration = claims.getExpiration();
+			if (expiration == null)
+				return this.maximumTtlNanos;
+			final long remainingNanos = TimeUnit.MILLISECONDS
+					.toNanos(expiration.getTime() - System.currentTimeMillis());
+			return Math.max(0L, Math.min(remainingNanos, this.maximumTtlNanos));
+		}
+		
+		@Override
+		public long expireAfterUpdate(final String key, final Claims claims, final long currentTime,
+				final long currentDuration) {
+			return currentDuration;
+		}
+		
+		@Override
+		public long expireAfterRead(final String key, final Claims claims, final long currentTime,
+				final long currentDuration) {
+			return currentDuration;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,158 @@
+package com.selimhorri.app.jwt.revocation;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class RevokedTokenFilter {
+	
+	private static final int CLAIM_LOCK_STRIPES = 64;
+	private final int numBits;
+	private final int numHashes;
+	private final long rotationIntervalNanos;
+	private final Counter revocations;
+	private final Object[] claimLocks = new Object[CLAIM_LOCK_STRIPES];
+	
+	private volatile Generation current;
+	private volatile Generation previous;
+	
+	public RevokedTokenFilter(
+			@Value("${app.jwt.revocation.expected-revocations:1000000}") final int expectedRevocations, 
+			@Value("${app.jwt.revocation.false-positive-probability:0.0001}") final double falsePositiveProbability, 
+			@Value("${app.jwt.refresh-token-ttl:P7D}") final Duration refreshTokenTtl, 
+			final MeterRegistry meterRegistry) {
+		final double bits = -expectedRevocations * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+		this.numBits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, (long) Math.ceil(bits)));
+		this.numHashes = Math.max(1, (int) Math.round((double) this.numBits / expectedRevocations * Math.log(2)));
+		this.rotationIntervalNanos = refreshTokenTtl.toNanos();
+		for (int i = 0; i < CLAIM_LOCK_STRIPES; i++)
+			this.claimLocks[i] = new Object();
+		this.current = new Generation(this.numBits, System.nanoTime());
+		this.previous = new Generation(this.numBits, this.current.createdAt);
+		this.revocations = Counter.builder("jwt.revocations")
+				.description("Tokens added to the revocation filter")
+				.register(meterRegistry);
+		Gauge.builder("jwt.revocation.filter.bytes", this, filter -> 2L * filter.numBits / Byte.SIZE)
+				.description("Memory held by the revocation filter generations")
+				.register(meterRegistry);
+		log.info("**RevokedTokenFilter, {} bits and {} hashes per generation*\n", this.numBits, this.numHashes);
+	}
+	
+	public boolean revoke(final String tokenId) {
+		if (tokenId == null)
+			return false;
+		this.rotateIfDue();
+		final long hash1 = hash(tokenId);
+		final long hash2 = mix(hash1) | 1L;
+		synchronized (this.claimLocks[(int) Long.remainderUnsigned(hash1, CLAIM_LOCK_STRIPES)]) {
+			if (this.contains(this.current, hash1, hash2) || this.contains(this.previous, hash1, hash2))
+				return false;
+			final Generation generation = this.current;
+			for (int i = 0; i < this.numHashes; i++)
+				generation.set(this.index(hash1, hash2, i));
+		}
+		this.revocations.increment();
+		return true;
+	}
+	
+	public boolean mightBeRevoked(final String tokenId) {
+		if (tokenId == null)
+			return false;
+		this.rotateIfDue();
+		final long hash1 = hash(tokenId);
+		final long hash2 = mix(hash1) | 1L;
+		return this.contains(this.current, hash1, hash2) || this.contains(this.previous, hash1, hash2);
+	}
+	
+	private boolean contains(final Generation generation, final long hash1, final long hash2) {
+		for (int i = 0; i < this.numHashes; i++)
+			if (!generation.get(this.index(hash1, hash2, i)))
+				return false;
+		return true;
+	}
+	
+	private int index(final long hash1, final long hash2, final int i) {
+		return (int) Long.remainderUnsigned(hash1 + i * hash2, this.numBits);
+	}
+	
+	private void rotateIfDue() {
+		if (System.nanoTime() - this.current.createdAt < this.rotationIntervalNanos)
+			return;
+		synchronized (this) {
+			final Generation expiring = this.current;
+			if (System.nanoTime() - expiring.createdAt < this.rotationIntervalNanos)
+				return;
+			this.current = new Generation(this.numBits, System.nanoTime());
+			this.previous = expiring;
+			log.info("**RevokedTokenFilter, rotated revocation filter generation*\n");
+		}
+	}
+	
+	private static long hash(final String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+	
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+	
+	private static final class Generation {
+		
+		private final AtomicLongArray words;
+		private final long createdAt;
+		
+		private Generation(final int numBits, final long createdAt) {
+			this.words = new AtomicLongArray((numBits + 63) / 64);
+			this.createdAt = createdAt;
+		}
+		
+		private void set(final int bit) {
+			final int word = bit >>> 6;
+			final long mask = 1L << bit;
+			long current;
+			do {
+				current = this.words.get(word);
+				if ((current & mask) != 0)
+					return;
+			}
+			while (!this.words.compareAndSet(word, current, current | mask));
+		}
+		
+		private boolean get(final int bit) {
+			return (this.words.get(bit >>> 6) & (1L << bit)) != 0;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -44,12 +44,36 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.generateToken(userDetails);
 	}
 	
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails) {
+		log.info("**String, jwt service generate refresh token from given userDetails!*");
+		return this.jwtUtil.generateRefreshToken(userDetails);
+	}
+	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
 		log.info("**Boolean, jwt service validate token from given token and userDetails!*");
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Boolean validateRefreshToken(final String token) {
+		log.info("**Boolean, jwt service validate refresh token from given token!*");
+		return this.jwtUtil.validateRefreshToken(token);
+	}
+	
+	@Override
+	public Boolean revokeToken(final String token) {
+		log.info("**Boolean, jwt service revoke given token!*");
+		return this.jwtUtil.revokeToken(token);
+	}
+	
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		log.info("**UserDetails, jwt service extract userDetails from given token claims!*");
+		return this.jwtUtil.extractUserDetails(token);
+	}
+	
 	
 	
 }
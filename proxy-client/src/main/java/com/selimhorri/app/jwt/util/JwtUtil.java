@@ -13,6 +13,10 @@ public interface JwtUtil {
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails);
+	String generateRefreshToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Boolean validateRefreshToken(final String token);
+	Boolean revokeToken(final String token);
+	UserDetails extractUserDetails(final String token);
 	
 }
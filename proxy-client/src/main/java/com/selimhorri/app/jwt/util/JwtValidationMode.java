@@ -0,0 +1,8 @@
+package com.selimhorri.app.jwt.util;
+
+public enum JwtValidationMode {
+	
+	STRICT,
+	SELF_CONTAINED;
+	
+}
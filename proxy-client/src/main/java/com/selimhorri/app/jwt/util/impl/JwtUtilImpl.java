@@ -1,23 +1,50 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.constant.AppConstant.TokenTypes;
+import com.selimhorri.app.jwt.cache.VerifiedClaimsCache;
+import com.selimhorri.app.jwt.revocation.RevokedTokenFilter;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.RequiredArgsConstructor;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtilImpl implements JwtUtil {
 	
-	private static final String SECRET_KEY = "secret";
+	private static final String ROLE_CLAIM = "role";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+	private static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
+	private final VerifiedClaimsCache verifiedClaimsCache;
+	private final RevokedTokenFilter revokedTokenFilter;
+	
+	@Value("${app.jwt.secret:secret}")
+	private String secretKey;
+	
+	@Value("${app.jwt.access-token-ttl:PT15M}")
+	private Duration accessTokenTtl;
+	
+	@Value("${app.jwt.refresh-token-ttl:P7D}")
+	private Duration refreshTokenTtl;
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -36,37 +63,92 @@ public class JwtUtilImpl implements JwtUtil {
 	}
 	
 	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+		return this.verifiedClaimsCache.get(token, this::parseClaims);
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private Claims parseClaims(final String token) {
+		return Jwts.parser().setSigningKey(this.secretKey).parseClaimsJws(token).getBody();
+	}
+	
+	private Boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
-		return this.createToken(claims, userDetails.getUsername());
+		userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.findFirst()
+				.ifPresent(role -> claims.put(ROLE_CLAIM, role));
+		claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+		claims.put(ACCOUNT_NON_EXPIRED_CLAIM, userDetails.isAccountNonExpired());
+		claims.put(ACCOUNT_NON_LOCKED_CLAIM, userDetails.isAccountNonLocked());
+		claims.put(CREDENTIALS_NON_EXPIRED_CLAIM, userDetails.isCredentialsNonExpired());
+		claims.put(TokenTypes.CLAIM, TokenTypes.ACCESS);
+		return this.createToken(claims, userDetails.getUsername(), this.accessTokenTtl);
+	}
+	
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails) {
+		final Map<String, Object> claims = new HashMap<>();
+		claims.put(TokenTypes.CLAIM, TokenTypes.REFRESH);
+		return this.createToken(claims, userDetails.getUsername(), this.refreshTokenTtl);
 	}
 	
-	private String createToken(final Map<String, Object> claims, final String subject) {
+	private String createToken(final Map<String, Object> claims, final String subject, final Duration ttl) {
+		final long now = System.currentTimeMillis();
 		return Jwts.builder()
 					.setClaims(claims)
+					.setId(UUID.randomUUID().toString())
 					.setSubject(subject)
-					.setIssuedAt(new Date(System.currentTimeMillis()))
-					.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-					.signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+					.setIssuedAt(new Date(now))
+					.setExpiration(new Date(now + ttl.toMillis()))
+					.signWith(SignatureAlgorithm.HS256, this.secretKey)
 		.compact();
 	}
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		final Claims claims = this.extractAllClaims(token);
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims)
+				&& !TokenTypes.REFRESH.equals(claims.get(TokenTypes.CLAIM, String.class))
+				&& !this.revokedTokenFilter.mightBeRevoked(claims.getId())
 		);
 	}
 	
+	@Override
+	public Boolean validateRefreshToken(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		return (
+			claims.getSubject() != null && !isTokenExpired(claims)
+				&& TokenTypes.REFRESH.equals(claims.get(TokenTypes.CLAIM, String.class))
+				&& !this.revokedTokenFilter.mightBeRevoked(claims.getId())
+		);
+	}
+	
+	@Override
+	public Boolean revokeToken(final String token) {
+		return this.revokedTokenFilter.revoke(this.extractClaims(token, Claims::getId));
+	}
+	
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		final String role = claims.get(ROLE_CLAIM, String.class);
+		if (role == null)
+			return null;
+		return new UserDetailsImpl(CredentialDto.builder()
+				.username(claims.getSubject())
+				.roleBasedAuthority(RoleBasedAuthority.valueOf(role))
+				.isEnabled(Boolean.TRUE.equals(claims.get(ENABLED_CLAIM, Boolean.class)))
+				.isAccountNonExpired(Boolean.TRUE.equals(claims.get(ACCOUNT_NON_EXPIRED_CLAIM, Boolean.class)))
+				.isAccountNonLocked(Boolean.TRUE.equals(claims.get(ACCOUNT_NON_LOCKED_CLAIM, Boolean.class)))
+				.isCredentialsNonExpired(Boolean.TRUE.equals(claims.get(CREDENTIALS_NON_EXPIRED_CLAIM, Boolean.class)))
+				.build());
+	}
+	
 	
 	
 }
@@ -0,0 +1,107 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.config.encoder.BoundedPasswordVerifier;
+import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.jwt.cache.RejectedTokenCache;
+import com.selimhorri.app.jwt.revocation.RevokedTokenFilter;
+import com.selimhorri.app.jwt.service.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthenticationServiceImplTest {
+	
+	private static final String REFRESH_TOKEN = "refresh-token";
+	private static final String TOKEN_ID = "token-id";
+	private static final int CONCURRENT_REFRESHES = 16;
+	
+	private ExecutorService executorService;
+	private AuthenticationServiceImpl authenticationService;
+	
+	@BeforeEach
+	void setUp() {
+		final RevokedTokenFilter revokedTokenFilter = 
+				new RevokedTokenFilter(1000, 0.0001, Duration.ofDays(7), new SimpleMeterRegistry());
+		final JwtService jwtService = mock(JwtService.class);
+		when(jwtService.validateRefreshToken(REFRESH_TOKEN))
+				.thenAnswer(invocation -> !revokedTokenFilter.mightBeRevoked(TOKEN_ID));
+		when(jwtService.extractUsername(REFRESH_TOKEN)).thenReturn("user");
+		when(jwtService.revokeToken(REFRESH_TOKEN)).thenAnswer(invocation -> revokedTokenFilter.revoke(TOKEN_ID));
+		when(jwtService.generateToken(any())).thenReturn("access-token");
+		when(jwtService.generateRefreshToken(any())).thenReturn("next-refresh-token");
+		
+		final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		when(userDetailsService.loadUserByUsername("user"))
+				.thenReturn(User.withUsername("user").password("password").roles("USER").build());
+		
+		this.authenticationService = new AuthenticationServiceImpl(userDetailsService, 
+				mock(UserDetailsCacheService.class), mock(BoundedPasswordVerifier.class), jwtService, 
+				mock(RejectedTokenCache.class), revokedTokenFilter);
+		this.executorService = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.executorService.shutdownNow();
+	}
+	
+	@Test
+	void concurrentRefreshesOfSameTokenIssueTokensOnlyOnce() throws Exception {
+		
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<Boolean>> refreshes = new ArrayList<>();
+		for (int i = 0; i < CONCURRENT_REFRESHES; i++)
+			refreshes.add(this.executorService.submit(() -> {
+				start.await();
+				try {
+					this.authenticationService.refresh(new RefreshTokenRequest(REFRESH_TOKEN));
+					return true;
+				}
+				catch (IllegalAuthenticationCredentialsException e) {
+					return false;
+				}
+			}));
+		start.countDown();
+		
+		int issued = 0;
+		for (final Future<Boolean> refresh : refreshes)
+			if (refresh.get(10, TimeUnit.SECONDS))
+				issued++;
+		
+		assertEquals(1, issued);
+	}
+	
+	@Test
+	void refreshWithAlreadyRotatedTokenIsRejected() {
+		
+		this.authenticationService.refresh(new RefreshTokenRequest(REFRESH_TOKEN));
+		
+		assertThrows(IllegalAuthenticationCredentialsException.class, 
+				() -> this.authenticationService.refresh(new RefreshTokenRequest(REFRESH_TOKEN)));
+	}
+	
+	
+	
+}
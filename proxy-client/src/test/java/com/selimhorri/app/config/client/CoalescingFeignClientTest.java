@@ -0,0 +1,171 @@
+package com.selimhorri.app.config.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingFeignClientTest {
+	
+	private static final String URL = "http://product-service/product-service/api/products/1";
+	private static final int FOLLOWERS = 4;
+	
+	private final AtomicInteger downstreamCalls = new AtomicInteger();
+	private final CountDownLatch downstreamEntered = new CountDownLatch(1);
+	private final CountDownLatch downstreamReleased = new CountDownLatch(1);
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	
+	private SimpleMeterRegistry meterRegistry;
+	private IOException downstreamFailure;
+	private Client coalescingClient;
+	
+	@BeforeEach
+	void setUp() {
+		
+		final Client downstream = (request, options) -> {
+			this.downstreamCalls.incrementAndGet();
+			this.downstreamEntered.countDown();
+			try {
+				this.downstreamReleased.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			if (this.downstreamFailure != null)
+				throw this.downstreamFailure;
+			return Response.builder()
+					.request(request)
+					.status(200)
+					.headers(Map.of())
+					.body("{\"productId\":1}", StandardCharsets.UTF_8)
+					.build();
+		};
+		
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.coalescingClient = new CoalescingFeignClient(downstream, List.of("/product-service/api/products/*"),
+				this.meterRegistry);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.downstreamReleased.countDown();
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	void concurrentIdenticalGetsShareOneDownstreamCall() throws Exception {
+		
+		final List<Future<String>> responses = this.executeConcurrently(new Request.Options());
+		this.downstreamReleased.countDown();
+		
+		for (final Future<String> response : responses)
+			assertEquals("{\"productId\":1}", response.get(5, TimeUnit.SECONDS));
+		assertEquals(1, this.downstreamCalls.get());
+		assertEquals(FOLLOWERS, this.requests("coalesced"));
+		assertEquals(1, this.requests("leader"));
+	}
+	
+	@Test
+	void followerTimesOutAfterReadPlusConnectTimeout() throws Exception {
+		
+		final Request.Options options = new Request.Options(50, TimeUnit.MILLISECONDS, 100, TimeUnit.MILLISECONDS, true);
+		final Future<String> leader = this.executor.submit(() -> this.execute(options));
+		assertTrue(this.downstreamEntered.await(5, TimeUnit.SECONDS));
+		
+		final long started = System.nanoTime();
+		assertThrows(SocketTimeoutException.class, () -> this.coalescingClient.execute(request(), options));
+		final long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+		
+		assertTrue(waitedMillis >= 150, "follower gave up after " + waitedMillis + "ms");
+		assertTrue(waitedMillis < 2000, "follower waited " + waitedMillis + "ms");
+		this.downstreamReleased.countDown();
+		assertEquals("{\"productId\":1}", leader.get(5, TimeUnit.SECONDS));
+		assertEquals(1, this.downstreamCalls.get());
+	}
+	
+	@Test
+	void leaderFailureReachesEveryFollower() throws Exception {
+		
+		this.downstreamFailure = new IOException("Connection reset");
+		final List<Future<String>> responses = this.executeConcurrently(new Request.Options());
+		this.downstreamReleased.countDown();
+		
+		for (final Future<String> response : responses) {
+			final ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+			assertSame(this.downstreamFailure, e.getCause());
+		}
+		assertEquals(1, this.downstreamCalls.get());
+	}
+	
+	@Test
+	void requestsOutsideTheCoalescingPathsAreNotShared() throws Exception {
+		
+		this.downstreamReleased.countDown();
+		final Request request = Request.create(HttpMethod.GET, "http://product-service/product-service/api/products",
+				Map.of(), null, StandardCharsets.UTF_8, null);
+		
+		this.coalescingClient.execute(request, new Request.Options()).close();
+		this.coalescingClient.execute(request, new Request.Options()).close();
+		
+		assertEquals(2, this.downstreamCalls.get());
+		assertEquals(0, this.requests("leader"));
+	}
+	
+	private List<Future<String>> executeConcurrently(final Request.Options options) throws Exception {
+		
+		final List<Future<String>> responses = new ArrayList<>();
+		responses.add(this.executor.submit(() -> this.execute(options)));
+		assertTrue(this.downstreamEntered.await(5, TimeUnit.SECONDS));
+		
+		for (int i = 0; i < FOLLOWERS; i++)
+			responses.add(this.executor.submit(() -> this.execute(options)));
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.requests("coalesced") < FOLLOWERS && System.nanoTime() < deadline)
+			Thread.sleep(5);
+		return responses;
+	}
+	
+	private String execute(final Request.Options options) throws IOException {
+		try (Response response = this.coalescingClient.execute(request(), options)) {
+			return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+		}
+	}
+	
+	private double requests(final String result) {
+		return this.meterRegistry.get("feign.coalescing.requests").tag("result", result).counter().count();
+	}
+	
+	private static Request request() {
+		return Request.create(HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+	}
+	
+	
+	
+}
@@ -0,0 +1,136 @@
+package com.selimhorri.app.config.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+
+import com.selimhorri.app.config.loadbalancer.ExcludedInstancesLifecycle;
+import com.selimhorri.app.config.loadbalancer.ExcludingServiceInstanceListSupplier;
+import com.selimhorri.app.config.loadbalancer.InstanceStatistics;
+import com.selimhorri.app.config.loadbalancer.LatencyAwareLoadBalancer;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgingFeignClientTest {
+	
+	private static final String SERVICE = "user-service";
+	
+	private final ServiceInstance instanceA = new DefaultServiceInstance("a", SERVICE, "host-a", 8700, false);
+	private final ServiceInstance instanceB = new DefaultServiceInstance("b", SERVICE, "host-b", 8700, false);
+	private final List<String> attemptedHosts = new CopyOnWriteArrayList<>();
+	private final CountDownLatch slowInstanceReleased = new CountDownLatch(1);
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	
+	private Client hedgingClient;
+	
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		
+		final InstanceStatistics instanceStatistics = new InstanceStatistics(Duration.ofSeconds(10),
+				Duration.ofMillis(100), Duration.ofSeconds(1), new SimpleMeterRegistry());
+		instanceStatistics.completed(this.instanceA, TimeUnit.MILLISECONDS.toNanos(1), false);
+		instanceStatistics.completed(this.instanceB, TimeUnit.SECONDS.toNanos(5), false);
+		
+		final ServiceInstanceListSupplier supplier = new ExcludingServiceInstanceListSupplier(
+				ServiceInstanceListSuppliers.from(SERVICE, this.instanceA, this.instanceB));
+		final ObjectProvider<ServiceInstanceListSupplier> supplierProvider = mock(ObjectProvider.class);
+		when(supplierProvider.getIfAvailable(any())).thenReturn(supplier);
+		
+		final LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+		when(loadBalancerClientFactory.getInstance(anyString()))
+				.thenReturn(new LatencyAwareLoadBalancer(supplierProvider, SERVICE, instanceStatistics));
+		when(loadBalancerClientFactory.getInstance(anyString(), eq(ServiceInstanceListSupplier.class)))
+				.thenReturn(supplier);
+		when(loadBalancerClientFactory.getInstances(anyString(), eq(LoadBalancerLifecycle.class)))
+				.thenReturn(Map.of("excludedInstancesLifecycle", new ExcludedInstancesLifecycle()));
+		
+		final Client downstream = (request, options) -> {
+			final String host = URI.create(request.url()).getHost();
+			this.attemptedHosts.add(host);
+			if (this.instanceA.getHost().equals(host)) {
+				try {
+					this.slowInstanceReleased.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException();
+				}
+			}
+			return Response.builder()
+					.request(request)
+					.status(200)
+					.headers(Map.of())
+					.body(host, StandardCharsets.UTF_8)
+					.build();
+		};
+		
+		final FeignHedgingProperties properties = new FeignHedgingProperties();
+		properties.setEnabled(true);
+		properties.setServices(List.of(SERVICE.toUpperCase()));
+		properties.setMinimumDelay(Duration.ofMillis(200));
+		properties.setMaximumDelay(Duration.ofMillis(200));
+		this.hedgingClient = new HedgingFeignClient(
+				new FeignBlockingLoadBalancerClient(downstream,
+						new BlockingLoadBalancerClient(loadBalancerClientFactory, new LoadBalancerProperties()),
+						new LoadBalancerProperties(), loadBalancerClientFactory),
+				loadBalancerClientFactory, this.executor, properties, new SimpleMeterRegistry());
+	}
+	
+	@AfterEach
+	void tearDown() {
+		this.slowInstanceReleased.countDown();
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	void hedgeAvoidsTheInstanceThePrimaryIsWaitingOn() throws Exception {
+		
+		final Request request = Request.create(HttpMethod.GET, "http://" + SERVICE + "/api/users/1",
+				Map.of(), null, StandardCharsets.UTF_8, null);
+		
+		try (Response response = this.hedgingClient.execute(request, new Request.Options())) {
+			assertEquals(200, response.status());
+			assertEquals(this.instanceB.getHost(), Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+		}
+		
+		assertEquals(List.of("host-a", "host-b"), this.attemptedHosts);
+	}
+	
+	
+	
+}
@@ -0,0 +1,137 @@
+package com.selimhorri.app.config.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.blocking.client.BlockingLoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+
+import com.selimhorri.app.config.loadbalancer.ExcludedInstancesLifecycle;
+import com.selimhorri.app.config.loadbalancer.ExcludingServiceInstanceListSupplier;
+import com.selimhorri.app.config.loadbalancer.InstanceStatistics;
+import com.selimhorri.app.config.loadbalancer.LatencyAwareLoadBalancer;
+import com.selimhorri.app.config.loadbalancer.OutlierDetectionLifecycle;
+import com.selimhorri.app.config.loadbalancer.OutlierDetector;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RetryingFeignClientTest {
+	
+	private static final String SERVICE = "user-service";
+	
+	private final ServiceInstance instanceA = new DefaultServiceInstance("a", SERVICE, "host-a", 8700, false);
+	private final ServiceInstance instanceB = new DefaultServiceInstance("b", SERVICE, "host-b", 8700, false);
+	private final List<String> attemptedHosts = new ArrayList<>();
+	
+	private OutlierDetector outlierDetector;
+	private Client retryingClient;
+	private boolean connectFailure;
+	
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		
+		this.outlierDetector = new OutlierDetector(true, 1, Duration.ofSeconds(30), Duration.ofMinutes(5), 50, 
+				new SimpleMeterRegistry());
+		final InstanceStatistics instanceStatistics = new InstanceStatistics(Duration.ofSeconds(10), 
+				Duration.ofMillis(100), Duration.ofSeconds(1), new SimpleMeterRegistry());
+		instanceStatistics.completed(this.instanceA, TimeUnit.MILLISECONDS.toNanos(1), false);
+		instanceStatistics.completed(this.instanceB, TimeUnit.SECONDS.toNanos(5), false);
+		
+		final ServiceInstanceListSupplier supplier = new ExcludingServiceInstanceListSupplier(
+				ServiceInstanceListSuppliers.from(SERVICE, this.instanceA, this.instanceB));
+		final ObjectProvider<ServiceInstanceListSupplier> supplierProvider = mock(ObjectProvider.class);
+		when(supplierProvider.getIfAvailable(any())).thenReturn(supplier);
+		
+		final LoadBalancerClientFactory loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+		when(loadBalancerClientFactory.getInstance(anyString()))
+				.thenReturn(new LatencyAwareLoadBalancer(supplierProvider, SERVICE, instanceStatistics));
+		when(loadBalancerClientFactory.getInstance(anyString(), eq(ServiceInstanceListSupplier.class)))
+				.thenReturn(supplier);
+		when(loadBalancerClientFactory.getInstances(anyString(), eq(LoadBalancerLifecycle.class)))
+				.thenReturn(Map.of(
+						"excludedInstancesLifecycle", new ExcludedInstancesLifecycle(), 
+						"outlierDetectionLifecycle", new OutlierDetectionLifecycle(this.outlierDetector)));
+		
+		final Client downstream = (request, options) -> {
+			final String host = URI.create(request.url()).getHost();
+			this.attemptedHosts.add(host);
+			final boolean failing = this.instanceA.getHost().equals(host);
+			if (failing && this.connectFailure)
+				throw new ConnectException("Connection refused");
+			return Response.builder()
+					.request(request)
+					.status(failing ? 503 : 200)
+					.headers(Map.of())
+					.body("{}", StandardCharsets.UTF_8)
+					.build();
+		};
+		
+		final FeignRetryProperties properties = new FeignRetryProperties();
+		properties.setEnabled(true);
+		properties.setInitialBackoff(Duration.ZERO);
+		this.retryingClient = new RetryingFeignClient(
+				new FeignBlockingLoadBalancerClient(downstream, 
+						new BlockingLoadBalancerClient(loadBalancerClientFactory, new LoadBalancerProperties()), 
+						new LoadBalancerProperties(), loadBalancerClientFactory), 
+				loadBalancerClientFactory, properties, new SimpleMeterRegistry());
+	}
+	
+	@Test
+	void retriedServerErrorStillCountsAgainstTheInstanceThatReturnedIt() throws Exception {
+		
+		final Request request = Request.create(HttpMethod.GET, "http://" + SERVICE + "/api/users/1", 
+				Map.of(), null, StandardCharsets.UTF_8, null);
+		
+		try (Response response = this.retryingClient.execute(request, new Request.Options())) {
+			assertEquals(200, response.status());
+		}
+		
+		assertEquals(List.of("host-a", "host-b"), this.attemptedHosts);
+		assertEquals(List.of(this.instanceB), this.outlierDetector.filter(List.of(this.instanceA, this.instanceB)));
+	}
+	
+	@Test
+	void connectFailureIsRetriedOnAnotherInstance() throws Exception {
+		
+		this.connectFailure = true;
+		final Request request = Request.create(HttpMethod.GET, "http://" + SERVICE + "/api/users/1", 
+				Map.of(), null, StandardCharsets.UTF_8, null);
+		
+		try (Response response = this.retryingClient.execute(request, new Request.Options())) {
+			assertEquals(200, response.status());
+		}
+		
+		assertEquals(List.of("host-a", "host-b"), this.attemptedHosts);
+	}
+	
+	
+	
+}
@@ -0,0 +1,176 @@
+package com.selimhorri.app.config.executor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.exception.ApiExceptionHandler;
+import com.selimhorri.app.exception.wrapper.InvalidRequestParameterException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+class CompletedFutureReturnValueHandlerTest {
+	
+	private AnnotationConfigWebApplicationContext context;
+	
+	@AfterEach
+	void tearDown() {
+		if (this.context != null)
+			this.context.close();
+	}
+	
+	@Test
+	void completedFutureIsWrittenWithoutAsyncDispatch() throws Exception {
+		
+		final MockMvc mockMvc = this.mockMvc(SynchronousMode.class);
+		
+		mockMvc.perform(get("/carts/1"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.cartId").value(1))
+				.andExpect(jsonPath("$.userId").value(7));
+	}
+	
+	@Test
+	void failedFutureIsHandledWithoutAsyncDispatch() throws Exception {
+		
+		final MockMvc mockMvc = this.mockMvc(SynchronousMode.class);
+		
+		mockMvc.perform(get("/carts/0/completed"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.msg").value("#### Cart id must be positive! ####"));
+	}
+	
+	@Test
+	void pendingFutureStillUsesAsyncDispatch() throws Exception {
+		
+		final MockMvc mockMvc = this.mockMvc(SynchronousMode.class);
+		
+		final MvcResult mvcResult = mockMvc.perform(get("/carts/1/pending"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.cartId").value(1))
+				.andExpect(jsonPath("$.userId").value(7));
+	}
+	
+	@Test
+	void asynchronousModeAnswersWithTheSameResponse() throws Exception {
+		
+		final MockMvc mockMvc = this.mockMvc(AsynchronousMode.class);
+		
+		final MvcResult mvcResult = mockMvc.perform(get("/carts/1"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.cartId").value(1))
+				.andExpect(jsonPath("$.userId").value(7));
+		
+		final MvcResult failedResult = mockMvc.perform(get("/carts/0"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(failedResult))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.msg").value("#### Cart id must be positive! ####"));
+	}
+	
+	private MockMvc mockMvc(final Class<?> mode) {
+		this.context = new AnnotationConfigWebApplicationContext();
+		this.context.setServletContext(new MockServletContext());
+		this.context.register(mode);
+		this.context.refresh();
+		return MockMvcBuilders.webAppContextSetup(this.context)
+				.addFilters(new ShallowEtagHeaderFilter())
+				.build();
+	}
+	
+	@Configuration
+	@EnableWebMvc
+	@Import({ SynchronousControllerConfig.class, ApiExceptionHandler.class, CartStubController.class })
+	static class SynchronousMode {
+		
+		@Bean
+		ControllerExecutor controllerExecutor() {
+			return new ControllerExecutor(false, 1, 1, false, new SimpleMeterRegistry());
+		}
+		
+	}
+	
+	@Configuration
+	@EnableWebMvc
+	@Import({ ApiExceptionHandler.class, CartStubController.class })
+	static class AsynchronousMode {
+		
+		@Bean
+		ControllerExecutor controllerExecutor() {
+			return new ControllerExecutor(true, 2, 10, false, new SimpleMeterRegistry());
+		}
+		
+	}
+	
+	@RestController
+	@RequiredArgsConstructor
+	static class CartStubController {
+		
+		private final ControllerExecutor controllerExecutor;
+		
+		@GetMapping("/carts/{cartId}")
+		public CompletableFuture<ResponseEntity<CartDto>> findById(@PathVariable("cartId") final int cartId) {
+			return this.controllerExecutor.supply(() -> ResponseEntity.ok(cart(cartId)));
+		}
+		
+		@GetMapping("/carts/{cartId}/completed")
+		public CompletableFuture<ResponseEntity<CartDto>> findByIdCompleted(@PathVariable("cartId") final int cartId) {
+			return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(cart(cartId)), Runnable::run);
+		}
+		
+		@GetMapping("/carts/{cartId}/pending")
+		public CompletableFuture<ResponseEntity<CartDto>> findByIdLater(@PathVariable("cartId") final int cartId) {
+			return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(cart(cartId)),
+					CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+		}
+		
+		private static CartDto cart(final int cartId) {
+			if (cartId < 1)
+				throw new InvalidRequestParameterException("#### Cart id must be positive! ####");
+			return CartDto.builder()
+					.cartId(cartId)
+					.userId(7)
+					.build();
+		}
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadConcurrencyBenchmark {
+	
+	private static final int TOMCAT_MAX_THREADS = 200;
+	
+	@Param({ "platform", "virtual" })
+	private String mode;
+	
+	@Param({ "1000", "10000" })
+	private int requests;
+	
+	@Param({ "200" })
+	private long downstreamLatencyMillis;
+	
+	private ExecutorService executor;
+	
+	@Setup
+	public void setUp() {
+		this.executor = "virtual".equals(this.mode)
+				? ExecutorThreads.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(TOMCAT_MAX_THREADS, ExecutorThreads.threadFactory("http-nio", false));
+	}
+	
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Benchmark
+	public void blockingDownstreamCalls(final InFlight inFlight) throws InterruptedException {
+		final CountDownLatch completed = new CountDownLatch(this.requests);
+		for (int i = 0; i < this.requests; i++)
+			this.executor.execute(() -> {
+				inFlight.enter();
+				try {
+					Thread.sleep(this.downstreamLatencyMillis);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					inFlight.exit();
+					completed.countDown();
+				}
+			});
+		completed.await();
+	}
+	
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class InFlight {
+		
+		private final AtomicInteger current = new AtomicInteger();
+		private final AtomicInteger peak = new AtomicInteger();
+		private int measuredIterations;
+		
+		@Setup(Level.Iteration)
+		public void reset(final BenchmarkParams params) {
+			this.current.set(0);
+			this.peak.set(0);
+			this.measuredIterations = params.getMeasurement().getCount() * Math.max(1, params.getForks());
+		}
+		
+		// JMH sums event counters over every measured iteration and fork, so report each iteration's share
+		public double peakInFlight() {
+			return (double) this.peak.get() / this.measuredIterations;
+		}
+		
+		private void enter() {
+			this.peak.accumulateAndGet(this.current.incrementAndGet(), Math::max);
+		}
+		
+		private void exit() {
+			this.current.decrementAndGet();
+		}
+		
+	}
+	
+	
+	
+}
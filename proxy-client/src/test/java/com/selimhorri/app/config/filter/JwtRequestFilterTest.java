@@ -0,0 +1,113 @@
+package com.selimhorri.app.config.filter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.constant.AppConstant.EdgeIdentityHeaders;
+import com.selimhorri.app.jwt.revocation.RevokedTokenFilter;
+import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.util.JwtValidationMode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtRequestFilterTest {
+	
+	private static final String USERNAME = "selimhorri";
+	private static final String TOKEN = "header.payload.signature";
+	
+	private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+	private final JwtService jwtService = mock(JwtService.class);
+	private final EdgeIdentityVerifier edgeIdentityVerifier = mock(EdgeIdentityVerifier.class);
+	
+	private JwtRequestFilter jwtRequestFilter;
+	
+	@BeforeEach
+	void setUp() {
+		this.jwtRequestFilter = new JwtRequestFilter(this.userDetailsService, this.jwtService, this.edgeIdentityVerifier,
+				new RevokedTokenFilter(1000, 0.0001, Duration.ofDays(7), new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(this.jwtRequestFilter, "validationMode", JwtValidationMode.SELF_CONTAINED);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+	
+	@Test
+	void edgeIdentityWithoutRoleRejectsLockedAccount() throws Exception {
+		
+		when(this.edgeIdentityVerifier.verify(any())).thenReturn(true);
+		when(this.userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user(true, false));
+		
+		assertNull(this.filter(this.edgeRequest()));
+	}
+	
+	@Test
+	void edgeIdentityWithoutRoleAuthenticatesActiveAccount() throws Exception {
+		
+		when(this.edgeIdentityVerifier.verify(any())).thenReturn(true);
+		when(this.userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user(true, true));
+		
+		assertNotNull(this.filter(this.edgeRequest()));
+	}
+	
+	@Test
+	void tokenWithoutAccountClaimsRejectsDisabledAccount() throws Exception {
+		
+		when(this.jwtService.extractUsername(TOKEN)).thenReturn(USERNAME);
+		when(this.jwtService.extractUserDetails(TOKEN)).thenReturn(null);
+		when(this.jwtService.validateToken(any(), any())).thenReturn(true);
+		when(this.userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user(false, true));
+		
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN);
+		
+		assertNull(this.filter(request));
+	}
+	
+	private Authentication filter(final MockHttpServletRequest request) throws Exception {
+		this.jwtRequestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+	
+	private MockHttpServletRequest edgeRequest() {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+		request.addHeader(EdgeIdentityHeaders.SUBJECT, USERNAME);
+		request.addHeader(EdgeIdentityHeaders.ROLE, " ");
+		return request;
+	}
+	
+	private static UserDetailsImpl user(final boolean enabled, final boolean accountNonLocked) {
+		return new UserDetailsImpl(CredentialDto.builder()
+				.username(USERNAME)
+				.roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+				.isEnabled(enabled)
+				.isAccountNonExpired(true)
+				.isAccountNonLocked(accountNonLocked)
+				.isCredentialsNonExpired(true)
+				.build());
+	}
+	
+	
+	
+}
@@ -0,0 +1,108 @@
+package com.selimhorri.app.config.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+	
+	private static final long FAST_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	
+	@Test
+	void limitGrowsToTheMaximumWhileLatencyStaysFlat() {
+		
+		final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group(20, 5, 100));
+		
+		for (int round = 0; round < 100; round++)
+			saturate(limit, FAST_RTT_NANOS);
+		
+		assertEquals(100, limit.limit());
+		assertEquals(0, limit.inFlight());
+	}
+	
+	@Test
+	void limitShrinksTowardsTheMinimumWhenLatencyClimbs() {
+		
+		final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group(50, 5, 100));
+		for (int round = 0; round < 20; round++)
+			saturate(limit, FAST_RTT_NANOS);
+		final int warmLimit = limit.limit();
+		
+		for (int round = 0; round < 20; round++)
+			saturate(limit, SLOW_RTT_NANOS);
+		
+		assertTrue(limit.limit() < warmLimit / 2, "limit " + limit.limit() + " did not back off from " + warmLimit);
+		assertEquals(0, limit.inFlight());
+	}
+	
+	@Test
+	void limitRecoversOnceLatencySettlesAgain() {
+		
+		final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group(50, 5, 100));
+		for (int round = 0; round < 20; round++)
+			saturate(limit, FAST_RTT_NANOS);
+		for (int round = 0; round < 20; round++)
+			saturate(limit, SLOW_RTT_NANOS);
+		final int congestedLimit = limit.limit();
+		
+		for (int round = 0; round < 100; round++)
+			saturate(limit, FAST_RTT_NANOS);
+		
+		assertTrue(limit.limit() > congestedLimit, "limit " + limit.limit() + " did not recover from " + congestedLimit);
+	}
+	
+	@Test
+	void droppedRequestBacksOffMultiplicativelyDownToTheMinimum() {
+		
+		final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group(20, 5, 100));
+		
+		assertTrue(limit.tryAcquire());
+		limit.release(FAST_RTT_NANOS, true);
+		assertEquals(18, limit.limit());
+		
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			limit.release(FAST_RTT_NANOS, true);
+		}
+		assertEquals(5, limit.limit());
+	}
+	
+	@Test
+	void releaseWithoutSampleOnlyFreesTheSlot() {
+		
+		final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(group(1, 1, 10));
+		
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+		limit.releaseWithoutSample();
+		
+		assertEquals(1, limit.limit());
+		assertEquals(0, limit.inFlight());
+		assertTrue(limit.tryAcquire());
+	}
+	
+	private static void saturate(final AdaptiveConcurrencyLimit limit, final long rttNanos) {
+		int acquired = 0;
+		while (limit.tryAcquire())
+			acquired++;
+		for (int i = 0; i < acquired; i++)
+			limit.release(rttNanos, false);
+	}
+	
+	private static ConcurrencyLimitProperties.Group group(final int initialLimit, final int minimumLimit,
+			final int maximumLimit) {
+		final ConcurrencyLimitProperties.Group group = new ConcurrencyLimitProperties.Group();
+		group.setInitialLimit(initialLimit);
+		group.setMinimumLimit(minimumLimit);
+		group.setMaximumLimit(maximumLimit);
+		return group;
+	}
+	
+	
+	
+}
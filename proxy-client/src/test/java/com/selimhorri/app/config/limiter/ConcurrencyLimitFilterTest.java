@@ -0,0 +1,161 @@
+package com.selimhorri.app.config.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.exception.wrapper.DownstreamUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitFilterTest {
+	
+	private static final String GROUP = "api";
+	private static final int INITIAL_LIMIT = 20;
+	private static final int BACKED_OFF_LIMIT = 18;
+	
+	private SimpleMeterRegistry meterRegistry;
+	private ConcurrencyLimitFilter filter;
+	
+	@BeforeEach
+	void setUp() {
+		final ConcurrencyLimitProperties.Group group = new ConcurrencyLimitProperties.Group();
+		group.setPaths(List.of("/api/**"));
+		group.setInitialLimit(INITIAL_LIMIT);
+		group.setMinimumLimit(5);
+		group.setMaximumLimit(100);
+		final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setGroups(Map.of(GROUP, group));
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.filter = new ConcurrencyLimitFilter(properties, new ObjectMapper(), this.meterRegistry);
+	}
+	
+	@Test
+	void gatewayTimeoutIsCountedAsDrop() throws Exception {
+		
+		this.filter.doFilter(request(), new MockHttpServletResponse(),
+				(request, response) -> ((MockHttpServletResponse) response).setStatus(504));
+		
+		assertEquals(BACKED_OFF_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	@Test
+	void thrownTimeoutIsCountedAsDrop() {
+		
+		final FilterChain timingOut = (request, response) -> {
+			throw new IllegalStateException(new SocketTimeoutException("Read timed out"));
+		};
+		
+		assertThrows(IllegalStateException.class,
+				() -> this.filter.doFilter(request(), new MockHttpServletResponse(), timingOut));
+		assertEquals(BACKED_OFF_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	@Test
+	void timeoutResolvedByExceptionHandlerIsCountedAsDrop() throws Exception {
+		
+		this.filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+			request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new TimeoutException());
+			((MockHttpServletResponse) response).setStatus(503);
+		});
+		
+		assertEquals(BACKED_OFF_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	@Test
+	void retryAfterResponseIsReleasedWithoutSample() throws Exception {
+		
+		this.filter.doFilter(request(), new MockHttpServletResponse(), (request, response) -> {
+			((MockHttpServletResponse) response).setStatus(503);
+			((MockHttpServletResponse) response).setHeader(HttpHeaders.RETRY_AFTER, "1");
+		});
+		
+		assertEquals(INITIAL_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	@Test
+	void shedDownstreamIsReleasedWithoutSample() {
+		
+		final FilterChain shedding = (request, response) -> {
+			throw new DownstreamUnavailableException("#### Downstream is shedding load! ####");
+		};
+		
+		assertThrows(DownstreamUnavailableException.class,
+				() -> this.filter.doFilter(request(), new MockHttpServletResponse(), shedding));
+		assertEquals(INITIAL_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	@Test
+	void asyncRequestIsReleasedExactlyOnce() throws Exception {
+		
+		final MockHttpServletRequest first = request();
+		final MockHttpServletRequest second = request();
+		this.filter.doFilter(first, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+		this.filter.doFilter(second, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+		assertEquals(2, this.inFlight());
+		
+		final MockAsyncContext asyncContext = (MockAsyncContext) first.getAsyncContext();
+		for (final AsyncListener listener : asyncContext.getListeners()) {
+			listener.onComplete(new AsyncEvent(asyncContext));
+			listener.onComplete(new AsyncEvent(asyncContext));
+		}
+		
+		assertEquals(1, this.inFlight());
+		assertEquals(INITIAL_LIMIT, this.limit());
+	}
+	
+	@Test
+	void asyncTimeoutIsCountedAsDrop() throws Exception {
+		
+		final MockHttpServletRequest request = request();
+		this.filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, response) -> servletRequest.startAsync());
+		
+		final MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+		for (final AsyncListener listener : asyncContext.getListeners()) {
+			listener.onTimeout(new AsyncEvent(asyncContext));
+			listener.onComplete(new AsyncEvent(asyncContext));
+		}
+		
+		assertEquals(BACKED_OFF_LIMIT, this.limit());
+		assertEquals(0, this.inFlight());
+	}
+	
+	private int limit() {
+		return (int) this.meterRegistry.get("http.server.concurrency.limit").tag("group", GROUP).gauge().value();
+	}
+	
+	private int inFlight() {
+		return (int) this.meterRegistry.get("http.server.concurrency.in-flight").tag("group", GROUP).gauge().value();
+	}
+	
+	private static MockHttpServletRequest request() {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+		request.setAsyncSupported(true);
+		return request;
+	}
+	
+	
+	
+}
@@ -0,0 +1,122 @@
+package com.selimhorri.app.config.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionPassthroughBenchmark {
+	
+	@Param({ "100", "1000", "10000" })
+	private int size;
+	
+	private ObjectMapper objectMapper;
+	private CollectionStreamer collectionStreamer;
+	private Request request;
+	private byte[] payload;
+	private ByteArrayOutputStream sink;
+	
+	@Setup
+	public void setUp() throws IOException {
+		
+		((Logger) LoggerFactory.getLogger(CollectionStreamer.class)).setLevel(Level.WARN);
+		this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		this.collectionStreamer = new CollectionStreamer(this.objectMapper);
+		this.request = Request.create(HttpMethod.GET, "http://order-service/order-service/api/orders",
+				Map.of(), null, StandardCharsets.UTF_8, null);
+		
+		final Collection<OrderDto> orders = IntStream.range(0, this.size)
+				.mapToObj(i -> OrderDto.builder()
+						.orderId(i)
+						.orderDate(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i))
+						.orderDesc("order description " + i)
+						.orderFee(i * 1.5)
+						.cartDto(CartDto.builder()
+								.cartId(i)
+								.userId(i % 50)
+								.build())
+						.build())
+				.collect(Collectors.toList());
+		this.payload = this.objectMapper.writeValueAsBytes(new OrderOrderServiceDtoCollectionResponse(orders));
+		this.sink = new ByteArrayOutputStream(this.payload.length);
+	}
+	
+	@Benchmark
+	public int buffered() throws IOException {
+		this.sink.reset();
+		final OrderOrderServiceDtoCollectionResponse body =
+				this.objectMapper.readValue(this.payload, OrderOrderServiceDtoCollectionResponse.class);
+		this.objectMapper.writeValue(this.sink, body);
+		return this.sink.size();
+	}
+	
+	@Benchmark
+	public int passthrough() throws IOException {
+		this.sink.reset();
+		this.collectionStreamer.passthrough(this::downstream)
+				.getBody()
+				.writeTo(this.sink);
+		return this.sink.size();
+	}
+	
+	private Response downstream() {
+		return Response.builder()
+				.request(this.request)
+				.status(200)
+				.headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE)))
+				.body(this.payload)
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,74 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimsVerificationBenchmark {
+	
+	private static final String SECRET = "secret";
+	
+	private VerifiedClaimsCache verifiedClaimsCache;
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		this.verifiedClaimsCache = new VerifiedClaimsCache(10_000, Duration.ofHours(10), new SimpleMeterRegistry());
+		final long now = System.currentTimeMillis();
+		this.token = Jwts.builder()
+				.setClaims(new HashMap<>(Map.of("role", "ROLE_USER", "enabled", true, "tokenType", "access")))
+				.setId(UUID.randomUUID().toString())
+				.setSubject("selimhorri")
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + Duration.ofMinutes(15).toMillis()))
+				.signWith(SignatureAlgorithm.HS256, SECRET)
+				.compact();
+	}
+	
+	@Benchmark
+	public void parsedOnEveryRead(final Blackhole blackhole) {
+		blackhole.consume(parse(this.token).getSubject());
+		blackhole.consume(parse(this.token).getExpiration());
+		blackhole.consume(parse(this.token).get("role", String.class));
+	}
+	
+	@Benchmark
+	public void servedFromCache(final Blackhole blackhole) {
+		blackhole.consume(this.verifiedClaimsCache.get(this.token, ClaimsVerificationBenchmark::parse).getSubject());
+		blackhole.consume(this.verifiedClaimsCache.get(this.token, ClaimsVerificationBenchmark::parse).getExpiration());
+		blackhole.consume(this.verifiedClaimsCache.get(this.token, ClaimsVerificationBenchmark::parse).get("role", String.class));
+	}
+	
+	private static Claims parse(final String token) {
+		return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+	}
+	
+	
+	
+}
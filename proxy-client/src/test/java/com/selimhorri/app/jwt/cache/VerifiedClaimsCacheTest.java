@@ -0,0 +1,107 @@
+package com.selimhorri.app.jwt.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedClaimsCacheTest {
+	
+	private static final String TOKEN = "header.payload.signature";
+	
+	private final AtomicLong nanos = new AtomicLong();
+	private final AtomicInteger verifications = new AtomicInteger();
+	
+	private VerifiedClaimsCache verifiedClaimsCache;
+	
+	@BeforeEach
+	void setUp() {
+		this.verifiedClaimsCache = new VerifiedClaimsCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry(),
+				this.nanos::get);
+	}
+	
+	@Test
+	void claimsAreServedFromCacheUntilTheTokenExpires() {
+		
+		final Function<String, Claims> verifier = this.verifier(expiringIn(Duration.ofSeconds(30)));
+		
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		this.advance(Duration.ofSeconds(25));
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		assertEquals(1, this.verifications.get());
+		
+		this.advance(Duration.ofSeconds(10));
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		assertEquals(2, this.verifications.get());
+	}
+	
+	@Test
+	void longLivedTokensAreCappedByTheMaximumTtl() {
+		
+		final Function<String, Claims> verifier = this.verifier(expiringIn(Duration.ofHours(1)));
+		
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		this.advance(Duration.ofSeconds(59));
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		assertEquals(1, this.verifications.get());
+		
+		this.advance(Duration.ofSeconds(2));
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		assertEquals(2, this.verifications.get());
+	}
+	
+	@Test
+	void expiredTokensAreVerifiedOnEveryLookup() {
+		
+		final Function<String, Claims> verifier = this.verifier(expiringIn(Duration.ofSeconds(-1)));
+		
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		
+		assertEquals(3, this.verifications.get());
+	}
+	
+	@Test
+	void invalidatedTokensAreVerifiedAgain() {
+		
+		final Function<String, Claims> verifier = this.verifier(expiringIn(Duration.ofSeconds(30)));
+		
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		this.verifiedClaimsCache.invalidate(TOKEN);
+		this.verifiedClaimsCache.get(TOKEN, verifier);
+		
+		assertEquals(2, this.verifications.get());
+	}
+	
+	private Function<String, Claims> verifier(final Claims claims) {
+		return token -> {
+			this.verifications.incrementAndGet();
+			return claims;
+		};
+	}
+	
+	private void advance(final Duration duration) {
+		this.nanos.addAndGet(duration.toNanos());
+	}
+	
+	private static Claims expiringIn(final Duration duration) {
+		return Jwts.claims()
+				.setSubject("selimhorri")
+				.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(duration.toNanos())));
+	}
+	
+	
+	
+}
@@ -0,0 +1,87 @@
+package com.selimhorri.app.jwt.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RevokedTokenFilterTest {
+	
+	@Test
+	void revokedTokenSurvivesOneRotationAndIsForgottenAfterTheNext() throws Exception {
+		
+		final Duration rotationInterval = Duration.ofMillis(100);
+		final RevokedTokenFilter revokedTokenFilter = new RevokedTokenFilter(1000, 0.0001, rotationInterval,
+				new SimpleMeterRegistry());
+		final String tokenId = UUID.randomUUID().toString();
+		
+		assertTrue(revokedTokenFilter.revoke(tokenId));
+		assertTrue(revokedTokenFilter.mightBeRevoked(tokenId));
+		
+		Thread.sleep(rotationInterval.toMillis() + 20);
+		assertTrue(revokedTokenFilter.mightBeRevoked(tokenId));
+		assertFalse(revokedTokenFilter.revoke(tokenId));
+		
+		Thread.sleep(rotationInterval.toMillis() + 20);
+		assertFalse(revokedTokenFilter.mightBeRevoked(tokenId));
+	}
+	
+	@Test
+	void onlyOneConcurrentRevokeOfTheSameTokenWins() throws Exception {
+		
+		final RevokedTokenFilter revokedTokenFilter = new RevokedTokenFilter(1000, 0.0001, Duration.ofDays(7),
+				new SimpleMeterRegistry());
+		final int callers = 16;
+		final ExecutorService executor = Executors.newFixedThreadPool(callers);
+		
+		try {
+			for (int round = 0; round < 50; round++) {
+				final String tokenId = UUID.randomUUID().toString();
+				final CountDownLatch start = new CountDownLatch(1);
+				final List<Future<Boolean>> revocations = new ArrayList<>();
+				for (int i = 0; i < callers; i++)
+					revocations.add(executor.submit(() -> {
+						start.await();
+						return revokedTokenFilter.revoke(tokenId);
+					}));
+				start.countDown();
+				
+				int winners = 0;
+				for (final Future<Boolean> revocation : revocations)
+					if (revocation.get())
+						winners++;
+				assertEquals(1, winners);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	void unknownTokensAreNotReportedAsRevoked() {
+		
+		final RevokedTokenFilter revokedTokenFilter = new RevokedTokenFilter(1000, 0.0001, Duration.ofDays(7),
+				new SimpleMeterRegistry());
+		
+		assertTrue(revokedTokenFilter.revoke(UUID.randomUUID().toString()));
+		assertFalse(revokedTokenFilter.mightBeRevoked(UUID.randomUUID().toString()));
+		assertFalse(revokedTokenFilter.revoke(null));
+		assertFalse(revokedTokenFilter.mightBeRevoked(null));
+	}
+	
+	
+	
+}